@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.block
+
+import net.minecraft.world.level.ChunkPos
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+
+/**
+ * Measures how many chunks per second the seed stage of [OreSimulator] simulates, with `./gradlew jmh`.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+open class OreSimulatorBenchmark {
+    private lateinit var harness: OreSimulationHarness
+    private lateinit var chunks: List<ChunkPos>
+
+    @Setup
+    fun setup() {
+        harness = OreSimulationHarness(SEED)
+        chunks = OreSimulationHarness.square(RADIUS)
+    }
+
+    /**
+     * Simulates every chunk of [chunks] once. Each invocation counts as one operation per chunk, so the score is in
+     * chunks per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    fun simulate(blackhole: Blackhole) {
+        for (chunk in chunks) {
+            blackhole.consume(harness.simulate(chunk))
+        }
+    }
+
+    companion object {
+        private const val SEED = 12345L
+
+        /**
+         * The radius, in chunks, of the square around the origin that is simulated.
+         */
+        private const val RADIUS = 4
+
+        /**
+         * The number of chunks in the square of [RADIUS].
+         */
+        private const val CHUNKS = (2 * RADIUS + 1) * (2 * RADIUS + 1)
+    }
+}
@@ -24,7 +24,8 @@
 
 package com.peasenet.mixins;
 
-import com.peasenet.main.GavinsMod;
+import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.level.material.FogType;
 import net.minecraft.client.Camera;
 import org.spongepowered.asm.mixin.Mixin;
@@ -36,7 +37,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class CameraMixin {
     @Inject(at = @At("HEAD"), method = "getFluidInCamera", cancellable = true)
     public void getSubmersionType(CallbackInfoReturnable<FogType> cir) {
-        if (GavinsMod.isEnabled("nooverlay")) cir.setReturnValue(FogType.NONE);
+        if (Mods.isActive(ChatCommand.NoOverlay)) cir.setReturnValue(FogType.NONE);
     }
 }
 
@@ -32,6 +32,7 @@ import com.peasenet.main.Settings;
 import com.peasenet.util.ChatCommand;
 import com.peasenet.util.event.EntityRenderNameEvent;
 import com.peasenet.util.event.EventManager;
+import com.peasenet.util.listeners.EntityRenderNameListener;
 import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.state.EntityRenderState;
 import net.minecraft.network.chat.Component;
@@ -71,8 +72,12 @@ public abstract class EntityRendererMixin<T extends Entity, S extends EntityRend
         if (!(entity instanceof LivingEntity le)) {
             return;
         }
-        var event = new EntityRenderNameEvent(le);
-        EventManager.getEventManager().call(event);
+        var eventManager = EventManager.getEventManager();
+        if (!eventManager.hasListeners(EntityRenderNameListener.class)) {
+            return;
+        }
+        var event = EntityRenderNameEvent.get(le);
+        eventManager.call(event);
         if (!event.isCancelled()) {
             var data = event.getEventData();
             if (data == null)
@@ -24,7 +24,8 @@
 
 package com.peasenet.mixins;
 
-import com.peasenet.main.GavinsMod;
+import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.level.biome.Biome;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -39,7 +40,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class MixinBiome {
     @Inject(method = "getPrecipitationAt", at = @At("HEAD"), cancellable = true)
     public void getPrecipitation(CallbackInfoReturnable<Biome.Precipitation> cir) {
-        if (GavinsMod.isEnabled("norain")) {
+        if (Mods.isActive(ChatCommand.NoRain)) {
             cir.setReturnValue(Biome.Precipitation.NONE);
             cir.cancel();
         }
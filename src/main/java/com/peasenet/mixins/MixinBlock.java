@@ -26,7 +26,7 @@ package com.peasenet.mixins;
 
 import com.peasenet.util.event.EventManager;
 import com.peasenet.util.event.ShouldDrawSideEvent;
-import com.peasenet.util.event.data.DrawState;
+import com.peasenet.util.listeners.ShouldDrawSideListener;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.core.Direction;
@@ -43,9 +43,11 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class MixinBlock {
     @Inject(at = @At("HEAD"), method = "shouldRenderFace", cancellable = true)
     private static void xray(BlockState blockState, BlockState blockState2, Direction direction, CallbackInfoReturnable<Boolean> cir) {
-        var drawSide = new DrawState(blockState);
-        var evt = new ShouldDrawSideEvent(drawSide);
-        EventManager.getEventManager().call(evt);
-        cir.setReturnValue(drawSide.shouldDraw());
+        var eventManager = EventManager.getEventManager();
+        if (!eventManager.hasListeners(ShouldDrawSideListener.class))
+            return;
+        var evt = ShouldDrawSideEvent.get(blockState);
+        eventManager.call(evt);
+        cir.setReturnValue(evt.getDrawState().shouldDraw());
     }
 }
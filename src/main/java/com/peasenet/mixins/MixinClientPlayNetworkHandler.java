@@ -28,7 +28,7 @@ import com.peasenet.main.GavinsMod;
 import com.peasenet.main.GavinsModClient;
 import com.peasenet.util.event.ChunkUpdateEvent;
 import com.peasenet.util.event.EventManager;
-import com.peasenet.util.event.data.ChunkUpdate;
+import com.peasenet.util.listeners.ChunkUpdateListener;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import org.spongepowered.asm.mixin.Mixin;
@@ -40,7 +40,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public class MixinClientPlayNetworkHandler {
     @Inject(method = "handleLevelChunkWithLight", at = @At("TAIL"))
     private void onChunkData(ClientboundLevelChunkWithLightPacket packet, CallbackInfo ci) {
+        var eventManager = EventManager.getEventManager();
+        if (!eventManager.hasListeners(ChunkUpdateListener.class))
+            return;
         var chunk = GavinsModClient.Companion.getMinecraftClient().getWorld().getChunk(packet.getX(), packet.getZ());
-        EventManager.getEventManager().call(new ChunkUpdateEvent(new ChunkUpdate(chunk)));
+        eventManager.call(ChunkUpdateEvent.get(chunk));
     }
 }
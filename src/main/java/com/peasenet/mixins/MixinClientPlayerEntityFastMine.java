@@ -24,7 +24,8 @@
 
 package com.peasenet.mixins;
 
-import com.peasenet.main.GavinsMod;
+import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.entity.player.Player;
 import org.spongepowered.asm.mixin.Mixin;
@@ -36,7 +37,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class MixinClientPlayerEntityFastMine {
     @Inject(method = "getDestroySpeed", at = @At("RETURN"), cancellable = true)
     public void checkFastMine(BlockState state, CallbackInfoReturnable<Float> ci) {
-        if (GavinsMod.isEnabled("fastmine"))
+        if (Mods.isActive(ChatCommand.FastMine))
             ci.setReturnValue(500.0f);
     }
 }
@@ -25,6 +25,7 @@
 package com.peasenet.mixins;
 
 import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.client.multiplayer.ClientLevel;
@@ -37,7 +38,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class MixinClientWorld {
     @Inject(at = @At("HEAD"), method = "getMarkerParticleTarget", cancellable = true)
     public void getBlockParticle(CallbackInfoReturnable<Block> cir) {
-        if (Mods.isActive("barrierdetect"))
+        if (Mods.isActive(ChatCommand.BarrierDetect))
             cir.setReturnValue(Blocks.BARRIER);
     }
 }
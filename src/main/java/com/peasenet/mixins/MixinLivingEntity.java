@@ -24,7 +24,8 @@
 
 package com.peasenet.mixins;
 
-import com.peasenet.main.GavinsMod;
+import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.entity.LivingEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -39,7 +40,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class MixinLivingEntity {
     @Inject(at = @At("RETURN"), method = "onClimbable", cancellable = true)
     public void onLadder(CallbackInfoReturnable<Boolean> cir) {
-        if (GavinsMod.isEnabled("climb")) {
+        if (Mods.isActive(ChatCommand.Climb)) {
             boolean enabled = ((LivingEntity) (Object) this).horizontalCollision;
             cir.setReturnValue(enabled);
         }
@@ -24,7 +24,8 @@
 
 package com.peasenet.mixins;
 
-import com.peasenet.main.GavinsMod;
+import com.peasenet.main.Mods;
+import com.peasenet.util.ChatCommand;
 import net.minecraft.world.entity.player.Player;
 import org.objectweb.asm.Opcodes;
 import org.spongepowered.asm.mixin.Mixin;
@@ -35,7 +36,7 @@ import org.spongepowered.asm.mixin.injection.Redirect;
 public class MixinPlayerEntity {
     @Redirect(method = "tick()V", at = @At(value = "FIELD", target = "Lnet/minecraft/world/entity/player/Player;noPhysics:Z", opcode = Opcodes.PUTFIELD))
     public void doNoClip(Player p, boolean noClip) {
-        p.noPhysics = GavinsMod.isEnabled("noclip");
+        p.noPhysics = Mods.isActive(ChatCommand.NoClip);
     }
 
 }
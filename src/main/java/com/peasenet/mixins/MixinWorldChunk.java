@@ -27,7 +27,7 @@ package com.peasenet.mixins;
 
 import com.peasenet.util.event.BlockUpdateEvent;
 import com.peasenet.util.event.EventManager;
-import com.peasenet.util.event.data.BlockUpdate;
+import com.peasenet.util.listeners.BlockUpdateListener;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.chunk.LevelChunk;
@@ -41,8 +41,9 @@ public class MixinWorldChunk {
 
     @Inject(method = "setBlockState", at = @At("TAIL"))
     private void onSetBlockState(BlockPos pos, BlockState state, int flags, CallbackInfoReturnable<BlockState> cir) {
-        var data = new BlockUpdate(pos, state, cir.getReturnValue());
-        var blockUpdateEvent = new BlockUpdateEvent(data);
-        EventManager.getEventManager().call(blockUpdateEvent);
+        var eventManager = EventManager.getEventManager();
+        if (!eventManager.hasListeners(BlockUpdateListener.class))
+            return;
+        eventManager.call(BlockUpdateEvent.get(pos, state, cir.getReturnValue()));
     }
 }
@@ -28,7 +28,6 @@ import com.peasenet.main.Mods;
 import com.peasenet.util.ChatCommand;
 import com.peasenet.util.event.EventManager;
 import com.peasenet.util.event.ShouldDrawSideEvent;
-import com.peasenet.util.event.data.DrawState;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -51,10 +50,9 @@ public class MixinSodiumblockOcclusionCache {
     @Inject(at = @At("HEAD"), method = "shouldDrawSide", cancellable = true)
     private void xray(BlockState state, BlockGetter world, BlockPos pos, Direction side, CallbackInfoReturnable<Boolean> cir) {
         if(Mods.isActive(ChatCommand.Xray)) {
-            var drawSide = new DrawState(state);
-            var evt = new ShouldDrawSideEvent(drawSide);
+            var evt = ShouldDrawSideEvent.get(state);
             EventManager.getEventManager().call(evt);
-            cir.setReturnValue(drawSide.shouldDraw());
+            cir.setReturnValue(evt.getDrawState().shouldDraw());
         }
     }
 }
@@ -36,7 +36,7 @@ import net.minecraft.world.level.block.Blocks
  *  Block Color => Dark Spring Green
  *  Alpha => 0.5
  * @author GT3CH1
- * @version 09-01-2024
+ * @version 10-18-2026
  */
 class OreEspConfig : BlockListConfig<OreEspConfig>({ it.defaultBlockState() == Blocks.COAL_ORE.defaultBlockState() }),
     IBlockEspTracerConfig {
@@ -152,6 +152,53 @@ class OreEspConfig : BlockListConfig<OreEspConfig>({ it.defaultBlockState() == B
             saveConfig()
         }
 
+    /**
+     * The saved ore simulation profiles.
+     */
+    private var profiles: ArrayList<OreProfile> = ArrayList()
+
+    /**
+     * Adds or replaces the profile with the name of the given [profile].
+     *
+     * @param profile The profile to add.
+     */
+    fun addProfile(profile: OreProfile) {
+        profiles.removeIf { it.name.equals(profile.name, true) }
+        profiles.add(profile)
+        saveConfig()
+    }
+
+    /**
+     * Removes the profile with the given [name].
+     *
+     * @param name The name of the profile.
+     * @return Whether a profile was removed.
+     */
+    fun removeProfile(name: String): Boolean {
+        val removed = profiles.removeIf { it.name.equals(name, true) }
+        if (removed) saveConfig()
+        return removed
+    }
+
+    /**
+     * Gets the profile with the given [name], ignoring case.
+     *
+     * @param name The name of the profile.
+     * @return The profile, or null if there is none.
+     */
+    fun getProfile(name: String): OreProfile? {
+        return profiles.firstOrNull { it.name.equals(name, true) }
+    }
+
+    /**
+     * Gets the saved profiles.
+     *
+     * @return The profiles.
+     */
+    fun getProfiles(): List<OreProfile> {
+        return profiles
+    }
+
     override var blockTracer: Boolean = false
     override var structureEsp: Boolean = false
         set(value) {
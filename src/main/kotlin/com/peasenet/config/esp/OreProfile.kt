@@ -0,0 +1,37 @@
+﻿/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.peasenet.config.esp
+
+/**
+ * A named ore simulation profile, the seed of a world ore ESP can simulate, so several servers can be scouted without
+ * re-entering their seeds. The height of the simulated dimension is always taken from the dimension the player is in.
+ *
+ * @param name The name of the profile.
+ * @param seed The world seed.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+data class OreProfile(val name: String, val seed: Long)
@@ -25,12 +25,13 @@ package com.peasenet.config.render
 
 import com.peasenet.config.Config
 import com.peasenet.main.Mods
+import com.peasenet.util.ChatCommand
 
 /**
  * Configuration file for fullbright.
  *
  * @author GT3CH1
- * @version 03-02-2023
+ * @version 10-18-2026
  */
 open class FullbrightConfig : Config<FullbrightConfig>() {
     var gamma: Float = 1.0F
@@ -53,6 +54,6 @@ open class FullbrightConfig : Config<FullbrightConfig>() {
     }
 
     fun maxGamma(): Float  {
-        return if (Mods.isActive("xray")) 16F else 1 + 15 * gamma
+        return if (Mods.isActive(ChatCommand.Xray)) 16F else 1 + 15 * gamma
     }
 }
\ No newline at end of file
@@ -34,7 +34,7 @@ import org.slf4j.LoggerFactory
 
 /**
  * @author GT3CH1
- * @version 01-15-2025
+ * @version 10-18-2026
  * The main initializer of the mod.
  */
 class GavinsMod : ModInitializer {
@@ -108,7 +108,7 @@ class GavinsMod : ModInitializer {
         @JvmStatic
         @Deprecated("Use Mods.isActive instead", ReplaceWith("Mods.isActive(chatCommand)"))
         fun isEnabled(chatCommand: ChatCommand): Boolean {
-            return isEnabled(chatCommand.command)
+            return Mods.isActive(chatCommand)
         }
 
     }
@@ -48,7 +48,7 @@ import kotlin.collections.set
 
 /**
  * @author GT3CH1
- * @version 04-11-2023
+ * @version 10-18-2026
  * The main part of the mod that handles checking mods.
  */
 class GavinsModClient : ClientModInitializer {
@@ -66,9 +66,10 @@ class GavinsModClient : ClientModInitializer {
 
         ClientTickEvents.START_CLIENT_TICK.register(ClientTickEvents.StartTick {
             if (player == null) return@StartTick
-            for (m in Mods.mods) {
-                m.checkKeybinding()
+            for (m in Mods.mods) m.checkKeybinding()
+            for (m in Mods.tickingMods) {
                 if (m.isActive || m.isDeactivating) m.onTick()
+                else Mods.stopTicking(m)
             }
         })
         guiSettings = GuiSettings()
@@ -49,6 +49,7 @@ import com.peasenet.mods.esp.*
 import com.peasenet.mods.gui.ModGui
 import com.peasenet.mods.gui.ModGuiSettings
 import com.peasenet.mods.render.ModDeathCoordinates
+import com.peasenet.mods.misc.ModEventProfiler
 import com.peasenet.mods.misc.ModFpsCounter
 import com.peasenet.mods.misc.ModFreeCam
 import com.peasenet.mods.misc.ModGuiTextOverlay
@@ -56,6 +57,7 @@ import com.peasenet.mods.movement.*
 import com.peasenet.mods.render.*
 import com.peasenet.mods.tracer.*
 import com.peasenet.util.ChatCommand
+import java.util.concurrent.atomic.AtomicIntegerArray
 
 
 /**
@@ -64,7 +66,7 @@ import com.peasenet.util.ChatCommand
  * the main GUI and the settings GUI.
  *
  * @author GT3CH1
- * @version 01-15-2025
+ * @version 10-18-2026
  * @since 07-18-2023
  */
 class Mods {
@@ -140,6 +142,7 @@ class Mods {
         GavinsMod.addMod(ModOreEsp())
         GavinsMod.addMod(ModDeathCoordinates())
         GavinsMod.addMod(ModDeathTracer())
+        GavinsMod.addMod(ModEventProfiler())
     }
 
     companion object {
@@ -149,20 +152,40 @@ class Mods {
          */
         private val modMap = HashMap<String, Mod>()
 
+        /**
+         * The [ChatCommand] of each chat command string.
+         */
+        private val commands = ChatCommand.entries.associateBy { it.command }
+
+        /**
+         * Whether the mod of each [ChatCommand] is active (1) or not (0), by ordinal, so mixins on hot paths can check
+         * a mod without a map lookup. Mixins read it from the render and network threads, so the flags are volatile.
+         */
+        private val activeFlags = AtomicIntegerArray(ChatCommand.entries.size)
+
+        /**
+         * The mods sorted by name, rebuilt whenever a mod is added.
+         */
+        @Volatile
+        private var sortedMods: List<Mod> = emptyList()
+
+        /**
+         * The mods that are active or still deactivating, and so have to tick. Replaced, never modified, when a mod
+         * is activated, or stops ticking.
+         */
+        @Volatile
+        var tickingMods: Array<Mod> = emptyArray()
+            private set
+
+        /**
+         * Gets the list of mods in sorted order as defined by the mod's name. The list is immutable and cached, so it
+         * is cheap to get every tick.
+         *
+         * @return The list of mods.
+         */
         @JvmStatic
-        val mods: ArrayList<Mod>
-            /**
-             * Gets the list of mods in sorted order as defined by the mod's name.
-             *
-             * @return The list of mods.
-             */
-            get() {
-                // get all values from the map and add them to the list
-                val values: Collection<Mod> = modMap.values
-                // sort the list by name
-                val list = ArrayList(values.sortedBy { it.translationKey })
-                return list
-            }
+        val mods: List<Mod>
+            get() = sortedMods
 
         /**
          * Gets a mod from the given name.
@@ -198,9 +221,15 @@ class Mods {
             return mod.isActive
         }
 
+        /**
+         * Gets whether the mod of the given chat command is active. This is a single volatile array read, so it can be
+         * called from mixins on hot paths, from any thread.
+         *
+         * @param chatCommand - The chat command of the mod.
+         */
         @JvmStatic
         fun isActive(chatCommand: ChatCommand): Boolean {
-            return getMod<Mod>(chatCommand).isActive
+            return activeFlags[chatCommand.ordinal] != 0
         }
 
         /*
@@ -208,8 +237,34 @@ class Mods {
         *
         * @param m - The mod to add.
         */
+        @Synchronized
         fun addMod(m: Mod) {
             modMap[m.chatCommand] = m
+            sortedMods = modMap.values.sortedBy { it.translationKey }
+        }
+
+        /**
+         * Updates [isActive] and [tickingMods] after the given mod is activated or deactivated. Called by [Mod].
+         *
+         * @param m - The mod.
+         * @param active - Whether the mod is now active.
+         */
+        @Synchronized
+        fun onActiveChanged(m: Mod, active: Boolean) {
+            commands[m.chatCommand]?.let { activeFlags[it.ordinal] = if (active) 1 else 0 }
+            // a deactivated mod keeps ticking until it is done deactivating, see stopTicking
+            if (active && !tickingMods.contains(m)) tickingMods += m
+        }
+
+        /**
+         * Removes the given mod from [tickingMods], unless it was activated again.
+         *
+         * @param m - The mod that is neither active nor deactivating.
+         */
+        @Synchronized
+        fun stopTicking(m: Mod) {
+            if (m.isActive || m.isDeactivating) return
+            tickingMods = tickingMods.filter { it !== m }.toTypedArray()
         }
     }
 }
\ No newline at end of file
@@ -54,7 +54,7 @@ import org.lwjgl.glfw.GLFW
  * @param modCategory - The category of the mod. See [ModCategory] for more information.
  * @param keyBinding - The keybinding used for this mod, by default it should be [GLFW.GLFW_KEY_UNKNOWN], which will not bind a key to this mod.
  * @author GT3CH1
- * @version 01-15-2025
+ * @version 10-18-2026
  *
  */
 abstract class Mod(
@@ -73,6 +73,11 @@ abstract class Mod(
      * Whether this mod is currently active.
      */
     override var isActive: Boolean = false
+        set(value) {
+            if (field == value) return
+            field = value
+            Mods.onActiveChanged(this, value)
+        }
 
 
     /**
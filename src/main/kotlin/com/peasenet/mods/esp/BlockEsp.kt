@@ -25,14 +25,16 @@
 package com.peasenet.mods.esp
 
 import com.peasenet.config.commons.IBlockEspTracerConfig
-import com.peasenet.extensions.east
-import com.peasenet.extensions.north
-import com.peasenet.extensions.south
-import com.peasenet.extensions.west
+import com.peasenet.gavui.color.Color
 import com.peasenet.util.block.GavBlock
 import com.peasenet.util.chunk.GavChunk
+import com.peasenet.util.chunk.GavChunkMesh
+import com.peasenet.util.chunk.GavChunkStore
 import com.peasenet.util.event.data.ChunkUpdate
 import com.peasenet.util.event.data.WorldRender
+import com.peasenet.util.executor.ChunkScanScheduler
+import com.peasenet.util.executor.GemExecutor
+import com.peasenet.util.math.ViewFrustum
 import com.peasenet.util.listeners.BlockUpdateListener
 import com.peasenet.util.listeners.ChunkUpdateListener
 import com.peasenet.util.listeners.RenderListener
@@ -40,6 +42,8 @@ import com.peasenet.util.listeners.WorldRenderListener
 import com.mojang.blaze3d.vertex.PoseStack
 import com.peasenet.util.GemRenderLayers
 import com.peasenet.util.RenderUtils
+import net.minecraft.core.Direction
+import net.minecraft.core.SectionPos
 import net.minecraft.world.level.ChunkPos
 import net.minecraft.world.level.chunk.ChunkAccess
 import org.joml.Matrix3x2fStack
@@ -59,7 +63,7 @@ import org.lwjgl.opengl.GL11
  * @see RenderListener
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 01-18-2025
  */
 abstract class BlockEsp<T : IBlockEspTracerConfig>(
@@ -79,75 +83,134 @@ abstract class BlockEsp<T : IBlockEspTracerConfig>(
 
     /**
      * Performs a search on the given chunk to find blocks to add to a list of [GavChunk]s.
+     * This is called from a [GemExecutor] thread by [scanScheduler], use [queueChunk] to search a chunk.
      * @param chunk The chunk to search.
      */
     abstract fun searchChunk(chunk: ChunkAccess)
 
     /**
-     * Gets if the chunk is in render distance.
+     * How many chunks away from the player chunks are searched.
+     */
+    protected open val searchDistance: Int
+        get() = RenderUtils.getRenderDistance()
+
+    /**
+     * The scheduler that runs [searchChunk], nearest chunks first.
+     */
+    private val scanScheduler = ChunkScanScheduler(this::searchChunk) { pos ->
+        GavChunk.inRenderDistance(pos, searchDistance)
+    }
+
+    /**
+     * Queues the given chunk to be searched with [searchChunk].
+     * @param chunk The chunk to search.
+     */
+    protected fun queueChunk(chunk: ChunkAccess) {
+        scanScheduler.submit(chunk)
+    }
+
+    /**
+     * Queues all chunks within [searchDistance] of the player to be searched.
+     */
+    protected fun queueVisibleChunks() {
+        GemExecutor.execute {
+            scanScheduler.submitAll(RenderUtils.getVisibleChunks(searchDistance))
+        }
+    }
+
+    /**
+     * The maximum distance from the camera, in blocks, that outlines are drawn at.
      * ~~~kotlin
-     * val distance = MinecraftClient.getInstance().gameRenderer.viewDistance / 2
-     * return chunk.inRenderDistance(distance)
+     * override val maxRenderDistance: Int
+     *     get() = RenderUtils.getRenderDistance() / 2 * 16
      * ~~~
-     * @param chunk The chunk to check.
-     * @return If the chunk is in render distance.
      */
-    open fun chunkInRenderDistance(chunk: GavChunk): Boolean = false
+    protected open val maxRenderDistance: Int
+        get() = searchDistance * 16
+
+    /**
+     * The view frustum of the current frame, only used by the render thread.
+     */
+    private val frustum = ViewFrustum()
 
     override fun onRender(matrixStack: PoseStack, partialTicks: Float) {
-        // TODO: MC 1.21.10 update
-        synchronized(chunks) {
-            if (chunks.isEmpty()) return
-            GL11.glDisable(GL11.GL_DEPTH_TEST)
-            val vcp = RenderUtils.getVertexConsumerProvider()
-            val layer = GemRenderLayers.LINES
-            val buffer = vcp.getBuffer(layer)
-            chunks.values.filter { chunkInRenderDistance(it) }.toMutableList().forEach {
-                it.render(
-                    matrixStack,
-                    getSettings().blockColor,
-                    partialTicks,
-                    getSettings().alpha,
-                    getSettings().structureEsp,
-                    getSettings().blockTracer,
-                    buffer
-                )
-            }
-            vcp.endBatch(layer)
-            GL11.glEnable(GL11.GL_DEPTH_TEST)
+        renderChunks(matrixStack, partialTicks, getSettings().blockColor, getSettings().blockTracer)
+    }
+
+    /**
+     * Renders every chunk in [chunks]. Sections outside the view frustum or beyond [maxRenderDistance] are culled
+     * before any vertices are written.
+     *
+     * @param matrixStack The matrix stack.
+     * @param partialTicks The partial ticks.
+     * @param blockColor The color of blocks that have no color of their own.
+     * @param blockTracer Whether to draw tracers to the blocks.
+     * @param layerMask The layers of blocks to draw, see [GavChunk.addBlocks].
+     * @param layerColors The ARGB color to draw each layer with, or null to use the colors of the blocks.
+     */
+    protected fun renderChunks(
+        matrixStack: PoseStack,
+        partialTicks: Float,
+        blockColor: Color,
+        blockTracer: Boolean,
+        layerMask: Long = GavChunkMesh.ALL_LAYERS,
+        layerColors: IntArray? = null,
+    ) {
+        val visibleChunks = chunks.values
+        if (visibleChunks.isEmpty()) return
+        frustum.update(matrixStack)
+        val maxDistance = maxRenderDistance.toFloat()
+        GL11.glDisable(GL11.GL_DEPTH_TEST)
+        val vcp = RenderUtils.getVertexConsumerProvider()
+        val layer = GemRenderLayers.LINES
+        val buffer = vcp.getBuffer(layer)
+        for (chunk in visibleChunks) {
+            chunk.render(
+                matrixStack,
+                blockColor,
+                partialTicks,
+                getSettings().alpha,
+                getSettings().structureEsp,
+                blockTracer,
+                buffer,
+                frustum,
+                maxDistance,
+                layerMask,
+                layerColors
+            )
         }
+        vcp.endBatch(layer)
+        GL11.glEnable(GL11.GL_DEPTH_TEST)
     }
 
     override fun onDisable() {
+        scanScheduler.clear()
         chunks.clear()
         super.onDisable()
     }
 
     override fun onChunkUpdate(chunkUpdate: ChunkUpdate) {
-        synchronized(chunks) {
-            searchChunk(chunkUpdate.chunk)
-        }
+        queueChunk(chunkUpdate.chunk)
     }
 
     override fun onWorldRender(worldRender: WorldRender) {
-        synchronized(chunks) {
-            chunks.entries.removeIf { !it.value.inRenderDistance() }
-        }
+        chunks.removeIf { !it.inRenderDistance() }
     }
 
 
     /**
-     * Adds the given
+     * Adds the given [searchedChunk] to [chunks], replacing any previous search of the same chunk.
+     * @param searchedChunk The searched chunk.
      */
     protected fun addBlocksFromChunk(searchedChunk: GavChunk) {
         synchronized(chunks) {
             chunks[searchedChunk.key]?.clear()
             if (searchedChunk.hasBlocks) {
-                chunks[searchedChunk.key] = searchedChunk
+                chunks.put(searchedChunk)
             } else {
                 chunks.remove(searchedChunk.key)
             }
-            updateNeighborChunks(searchedChunk.chunkPos)
+            updateBorders(searchedChunk.chunkPos)
         }
     }
 
@@ -164,45 +227,36 @@ abstract class BlockEsp<T : IBlockEspTracerConfig>(
         gavBlock: GavBlock,
         chunkPos: ChunkPos,
     ) {
-        val key = chunkPos.hashCode()
-        var espChunk = chunks[key]
-        if (espChunk == null) {
-            val gavChunk = GavChunk(chunkPos)
-            chunks[key] = gavChunk
-            espChunk = gavChunk
+        synchronized(chunks) {
+            val espChunk = chunks.getOrPut(chunkPos.toLong()) { GavChunk(chunkPos) }
+            if (addBlock)
+                espChunk.addBlock(gavBlock)
+            else
+                espChunk.removeBlock(gavBlock)
+            espChunk.updateBlockNeighbors(gavBlock)
+            val key = gavBlock.pos.asLong()
+            for (direction in Direction.Plane.HORIZONTAL) {
+                val neighborX = SectionPos.blockToSectionCoord(gavBlock.x + direction.stepX)
+                val neighborZ = SectionPos.blockToSectionCoord(gavBlock.z + direction.stepZ)
+                if (neighborX == chunkPos.x && neighborZ == chunkPos.z) continue
+                chunks[neighborX, neighborZ]?.updateNeighborsOf(key)
+            }
         }
-        if (addBlock)
-            espChunk.addBlock(gavBlock)
-        else
-            espChunk.removeBlock(gavBlock)
-        espChunk.updateBlockNeighbors(gavBlock)
-        updateNeighborChunks(chunkPos)
     }
 
     /**
-     * Updates the neighbor chunks of the given chunk in a 3x3 grid with the given [chunkPos] in the center.
-     * @param chunkPos The center chunk position.
+     * Updates the blocks of the four chunks next to the chunk at [chunkPos] that face it, after it has been searched.
+     * @param chunkPos The searched chunk position.
      */
-    private fun updateNeighborChunks(chunkPos: ChunkPos) {
-        val main = chunks[chunkPos.hashCode()]
-        val north = chunks[chunkPos.north().hashCode()]
-        val south = chunks[chunkPos.south().hashCode()]
-        val east = chunks[chunkPos.east().hashCode()]
-        val west = chunks[chunkPos.west().hashCode()]
-        val northEast = chunks[chunkPos.east().north().hashCode()]
-        val northWest = chunks[chunkPos.west().north().hashCode()]
-        val southEast = chunks[chunkPos.east().south().hashCode()]
-        val southWest = chunks[chunkPos.west().south().hashCode()]
-        main?.updateBlocks()
-        north?.updateBlocks()
-        south?.updateBlocks()
-        east?.updateBlocks()
-        west?.updateBlocks()
-        northEast?.updateBlocks()
-        northWest?.updateBlocks()
-        southEast?.updateBlocks()
-        southWest?.updateBlocks()
+    private fun updateBorders(chunkPos: ChunkPos) {
+        for (direction in Direction.Plane.HORIZONTAL) {
+            chunks[chunkPos.x + direction.stepX, chunkPos.z + direction.stepZ]?.updateBorder(direction.opposite)
+        }
     }
 
-    val chunks = HashMap<Int, GavChunk>()
+    /**
+     * The searched chunks. Writers synchronize on this store, the render thread reads [GavChunkStore.values] without
+     * locking.
+     */
+    val chunks = GavChunkStore()
 }
\ No newline at end of file
@@ -31,23 +31,22 @@ import com.peasenet.gavui.util.Direction
 import com.peasenet.gui.mod.esp.GuiBlockEsp
 import com.peasenet.main.GavinsModClient
 import com.peasenet.main.Settings
-import com.peasenet.util.RenderUtils
 import com.peasenet.util.block.GavBlock
 import com.peasenet.util.chunk.GavChunk
 import com.peasenet.util.event.data.BlockUpdate
-import com.peasenet.util.executor.GemExecutor
 import com.peasenet.util.listeners.BlockUpdateListener
 import com.peasenet.util.listeners.ChunkUpdateListener
 import com.peasenet.util.listeners.RenderListener
 import com.peasenet.util.listeners.WorldRenderListener
 import net.minecraft.core.BlockPos
+import net.minecraft.world.level.block.state.BlockState
 import net.minecraft.world.level.chunk.ChunkAccess
 
 /**
  * An ESP mod that draws boxes around user selected blocks in the world.
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 09-01-2024
  * @see EspMod
  */
@@ -99,14 +98,12 @@ class ModBlockEsp : BlockEsp<BlockEspConfig>(
     override fun onEnable() {
         em.subscribe(RenderListener::class.java, this)
         chunks.clear()
-        em.subscribe(BlockUpdateListener::class.java, this)
+        em.subscribe(BlockUpdateListener::class.java, this, async = true)
         em.subscribe(WorldRenderListener::class.java, this)
         em.subscribe(ChunkUpdateListener::class.java, this)
         em.subscribe(RenderListener::class.java, this)
         // search for chunks within render distance
-        GemExecutor.execute {
-            RenderUtils.getVisibleChunks().forEach(this::searchChunk)
-        }
+        queueVisibleChunks()
         super.onEnable()
     }
 
@@ -129,24 +126,26 @@ class ModBlockEsp : BlockEsp<BlockEspConfig>(
 
     override fun getSettings(): BlockEspConfig = Settings.getConfig("blockesp")
 
+    /**
+     * The visibility filter of every block this mod adds. Kept as a single instance so that all blocks of a chunk share
+     * one style.
+     */
+    private val visibleFilter: (BlockPos) -> Boolean = { blockPos -> blockFilter(blockPos) }
+
     private fun blockFilter(blockPos: BlockPos): Boolean {
-        return blocks.contains(BlockListConfig.getId(world.getBlockState(blockPos).block))
+        return stateFilter(world.getBlockState(blockPos))
     }
 
-    override fun chunkInRenderDistance(chunk: GavChunk): Boolean {
-        return chunk.inRenderDistance()
+    private fun stateFilter(blockState: BlockState): Boolean {
+        return blocks.contains(BlockListConfig.getId(blockState.block))
     }
 
     override fun searchChunk(chunk: ChunkAccess) {
-        GemExecutor.execute {
-            synchronized(chunk) {
-                GavChunk.search(
-                    chunk
-                ) { pos ->
-                    blockFilter(pos)
-                }.also {
-                    addBlocksFromChunk(it)
-                }
+        synchronized(chunk) {
+            GavChunk.search(
+                chunk, this::stateFilter, visibleFilter
+            ).also {
+                addBlocksFromChunk(it)
             }
         }
     }
@@ -161,9 +160,7 @@ class ModBlockEsp : BlockEsp<BlockEspConfig>(
         if (!added && !removed) {
             return
         }
-        val gavBlock = GavBlock(bue.blockPos,{ blockPos ->
-            blockFilter(blockPos)
-        })
+        val gavBlock = GavBlock(bue.blockPos, visibleFilter)
         updateChunk(added, gavBlock, chunk.pos)
     }
 
@@ -31,12 +31,10 @@ import com.peasenet.main.GavinsMod
 import com.peasenet.main.Settings
 import com.peasenet.settings.CycleSetting
 import com.peasenet.util.ChatCommand
-import com.peasenet.util.RenderUtils
 import com.peasenet.util.block.GavBlock
 import com.peasenet.util.chunk.GavChunk
 import com.peasenet.util.event.data.BlockUpdate
 import com.peasenet.util.event.data.WorldRender
-import com.peasenet.util.executor.GemExecutor
 import com.peasenet.util.listeners.BlockUpdateListener
 import com.peasenet.util.listeners.ChunkUpdateListener
 import com.peasenet.util.listeners.RenderListener
@@ -53,7 +51,7 @@ import net.minecraft.world.level.chunk.ChunkAccess
  * An ESP mod that draws boxes around user selected blocks in the world.
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 01-18-2025
  * @see EspMod
  * @see BlockEsp
@@ -94,18 +92,18 @@ class ModCaveEsp : BlockEsp<CaveEspConfig>(
             return (Minecraft.getInstance().options.renderDistance().get())
         }
 
+    override val searchDistance: Int
+        get() = chunksToRender
+
     override fun onEnable() {
         em.subscribe(RenderListener::class.java, this)
         chunks.clear()
-        em.subscribe(BlockUpdateListener::class.java, this)
+        em.subscribe(BlockUpdateListener::class.java, this, async = true)
         em.subscribe(WorldRenderListener::class.java, this)
         em.subscribe(ChunkUpdateListener::class.java, this)
         em.subscribe(RenderListener::class.java, this)
         // search for chunks within render distance
-        GemExecutor.execute {
-//            chunks.values.forEach { seVarchChunk(it) }
-            RenderUtils.getVisibleChunks(chunksToRender).forEach(this::searchChunk)
-        }
+        queueVisibleChunks()
         super.onEnable()
     }
 
@@ -126,41 +124,31 @@ class ModCaveEsp : BlockEsp<CaveEspConfig>(
 
 
     override fun searchChunk(chunk: ChunkAccess) {
-        GemExecutor.execute {
-            synchronized(chunk) {
-                GavChunk.search(
-                    chunk
-                ) { pos ->
-                    searchBlock(pos)
-                }.also {
-                    addBlocksFromChunk(it)
-                }
+        synchronized(chunk) {
+            GavChunk.search(
+                chunk, this::canBeCave, visibleFilter
+            ).also {
+                addBlocksFromChunk(it)
             }
         }
     }
 
 
     override fun onWorldRender(worldRender: WorldRender) {
-        synchronized(chunks) {
-            chunks.values.removeIf { !it.inRenderDistance(chunksToRender) }
-        }
+        chunks.removeIf { !it.inRenderDistance(chunksToRender) }
     }
 
     override fun onBlockUpdate(bue: BlockUpdate) {
         val added = bue.newState.isAir && !bue.oldState.isAir
         val removed = !added && !bue.newState.isAir && bue.oldState.isAir
         val chunk = world.getChunk(bue.blockPos) ?: return
-        val gavBlock = GavBlock(bue.blockPos, { pos -> searchBlock(pos) })
+        val gavBlock = GavBlock(bue.blockPos, visibleFilter)
         if (!added && !removed) {
             return
         }
         updateChunk(added, gavBlock, chunk.pos)
     }
 
-    override fun chunkInRenderDistance(chunk: GavChunk): Boolean {
-        return chunk.inRenderDistance(chunksToRender)
-    }
-
 
     /**
      * Callback for when the search mode is changed. This will update what search parameters the
@@ -176,12 +164,15 @@ class ModCaveEsp : BlockEsp<CaveEspConfig>(
         }
         val searchModeName = getSettings().searchMode.name.lowercase()
         searchMode.gui.title = Component.translatable("$searchTranslationKey.$searchModeName")
-        GemExecutor.execute {
-            val visibleChunks: List<ChunkAccess> = RenderUtils.getVisibleChunks(chunksToRender)
-            visibleChunks.forEach(this::searchChunk)
-        }
+        queueVisibleChunks()
     }
 
+    /**
+     * The visibility filter of every block this mod adds. Kept as a single instance so that all blocks of a chunk share
+     * one style.
+     */
+    private val visibleFilter: (BlockPos) -> Boolean = { pos -> searchBlock(pos) }
+
     /**
      * Checks if the given [blockPos] is a valid block to render, depending on the [SearchType] setting.
      * @param blockPos The [BlockPos] to check.
@@ -191,7 +182,7 @@ class ModCaveEsp : BlockEsp<CaveEspConfig>(
      */
     private fun searchBlock(blockPos: BlockPos): Boolean {
         val newBlockState = world.getBlockState(blockPos)
-        if (!newBlockState.isAir && newBlockState.block !is MultifaceSpreadeableBlock && !newBlockState.liquid()) return false
+        if (!canBeCave(newBlockState)) return false
         val searchMode = getSettings().searchMode
         return when (searchMode) {
             SearchType.Caves -> {
@@ -206,6 +197,15 @@ class ModCaveEsp : BlockEsp<CaveEspConfig>(
         }
     }
 
+    /**
+     * Checks if the given [blockState] can be part of a cave at all, regardless of its surroundings.
+     * @param blockState The [BlockState] to check.
+     * @return True if the block is air, a multiface block (e.g. glow lichen), or a liquid.
+     */
+    private fun canBeCave(blockState: BlockState): Boolean {
+        return blockState.isAir || blockState.block is MultifaceSpreadeableBlock || blockState.liquid()
+    }
+
     private fun isTunnel(blockPos: BlockPos): Boolean {
         return world.getBlockState(blockPos.above()).isAir && !world.getBlockState(blockPos.above(2)).isAir
     }
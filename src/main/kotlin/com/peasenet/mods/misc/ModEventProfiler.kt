@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.mods.misc
+
+import com.peasenet.gavui.math.BoxF
+import com.peasenet.gavui.math.PointF
+import com.peasenet.gavui.util.GavUISettings
+import com.peasenet.gavui.util.GuiUtil
+import com.peasenet.main.GavinsModClient
+import com.peasenet.main.Mods
+import com.peasenet.util.ChatCommand
+import com.peasenet.util.event.EventProfiler
+import com.peasenet.util.listeners.InGameHudRenderListener
+import net.minecraft.client.gui.GuiGraphicsExtractor
+
+/**
+ * A mod that profiles the event listeners while it is enabled, and draws the most expensive ones in the top right
+ * corner of the screen, below the FPS counter. The full report is available through the `.profiler` chat command.
+ *
+ * @see EventProfiler
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class ModEventProfiler : MiscMod(
+    "gavinsmod.mod.misc.eventprofiler",
+    ChatCommand.EventProfiler.command,
+), InGameHudRenderListener {
+
+    /**
+     * The lines currently drawn. Sorting the timings every frame would show up in the profile itself, so they are
+     * only refreshed every [REFRESH_MILLIS].
+     */
+    private var lines = emptyList<String>()
+
+    /**
+     * When [lines] were last refreshed.
+     */
+    private var lastRefresh = 0L
+
+    override fun onEnable() {
+        super.onEnable()
+        EventProfiler.start()
+        em.subscribe(InGameHudRenderListener::class.java, this)
+    }
+
+    override fun onDisable() {
+        super.onDisable()
+        em.unsubscribe(InGameHudRenderListener::class.java, this)
+        EventProfiler.stop()
+        lines = emptyList()
+        lastRefresh = 0L
+    }
+
+    override fun onRenderInGameHud(drawContext: GuiGraphicsExtractor, delta: Float, forceRender: Boolean) {
+        if (Mods.isActive(ChatCommand.Gui) || Mods.isActive(ChatCommand.Settings) || !isActive) return
+        val now = System.currentTimeMillis()
+        if (now - lastRefresh >= REFRESH_MILLIS) {
+            lastRefresh = now
+            lines = listOf("Event Profiler") + EventProfiler.report(true).take(LINES).map { it.summary() }
+        }
+        val textRenderer = GavinsModClient.minecraftClient.textRenderer
+        var y = 2
+        if (Mods.isActive(ChatCommand.FpsCounter)) y += 10
+        if (Mods.isActive(ChatCommand.DeathCoordinates)) y += 10
+        val width = lines.maxOf { textRenderer.width(it) }
+        val x = GavinsModClient.minecraftClient.window.guiScaledWidth - width - 1
+        val box = BoxF(PointF(x.toFloat() - 2, y.toFloat() - 2), width.toFloat() + 3, lines.size * 10f + 1)
+        GuiUtil.fill(box, drawContext, GavUISettings.getColor("gui.color.background").withAlpha(0.5f))
+        val color = GavUISettings.getColor("gui.color.foreground").asInt
+        for (line in lines) {
+            drawContext.text(textRenderer, line, x, y, color, false)
+            y += 10
+        }
+    }
+
+    private companion object {
+        /**
+         * The number of listeners drawn.
+         */
+        const val LINES = 5
+
+        /**
+         * How often the drawn listeners are refreshed, in milliseconds.
+         */
+        const val REFRESH_MILLIS = 1000L
+    }
+}
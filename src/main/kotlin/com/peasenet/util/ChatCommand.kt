@@ -27,7 +27,7 @@ package com.peasenet.util
 /**
  *
  * @author GT3CH1
- * @version 01-15-2025
+ * @version 10-18-2026
  * @since 01-12-2025
  */
 enum class ChatCommand(val command: String) {
@@ -79,4 +79,7 @@ enum class ChatCommand(val command: String) {
     OreEsp("oreesp"),
     DeathCoordinates("deathcoordinates"),
     DeathTracer("deathtracer"),
+    EventProfiler("eventprofiler"),
+    Gui("gui"),
+    Settings("settings"),
 }
\ No newline at end of file
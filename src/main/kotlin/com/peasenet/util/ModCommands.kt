@@ -23,15 +23,21 @@
  */
 package com.peasenet.util
 
+import com.peasenet.config.esp.OreEspConfig
+import com.peasenet.config.esp.OreProfile
 import com.peasenet.gui.GuiSettings
 import com.peasenet.main.GavinsMod
 import com.peasenet.main.GavinsModClient
 import com.peasenet.main.Mods
 import com.peasenet.main.Mods.Companion.mods
+import com.peasenet.main.Settings
 import com.peasenet.mods.Mod
 import com.peasenet.mods.ModCategory
+import com.peasenet.mods.esp.ModOreEsp
 import com.peasenet.util.PlayerUtils.sendMessage
+import com.peasenet.util.chunk.OrePrecompute
 import com.peasenet.util.event.EventManager
+import com.peasenet.util.event.EventProfiler
 import com.peasenet.util.event.data.ChatMessage
 import com.peasenet.util.listeners.OnChatSendListener
 import net.minecraft.client.resources.language.I18n
@@ -39,7 +45,7 @@ import net.minecraft.client.resources.language.I18n
 /**
  * A class that handles chat commands for all mods.
  * @author GT3CH1
- * @version 01-15-2025
+ * @version 10-18-2026
  */
 class ModCommands : OnChatSendListener {
     init {
@@ -75,6 +81,20 @@ class ModCommands : OnChatSendListener {
                     return true
                 }
             }
+            // ore ESP commands take arguments
+            val args = s.split(" ").filter { it.isNotEmpty() }
+            if (args.isNotEmpty() && args[0] == "oreprofile") {
+                handleOreProfile(args)
+                return true
+            }
+            if (args.isNotEmpty() && args[0] == "oreprecompute") {
+                handleOrePrecompute(args)
+                return true
+            }
+            if (args.isNotEmpty() && args[0] == "profiler") {
+                handleProfiler(args)
+                return true
+            }
             if (s == "help") {
                 // get all mod types
                 sendMessage("§bEach command is preceded by a period (§l.§r§b)", true)
@@ -89,6 +109,10 @@ class ModCommands : OnChatSendListener {
                     }
                     sendMessage("§a" + I18n.get(t.translationKey) + " §9-§c " + t.chatCommand, false)
                 }
+                sendMessage("§lCommands", false)
+                sendMessage("§aOre profiles §9-§c oreprofile <add|remove|use|list>", false)
+                sendMessage("§aOre precompute §9-§c oreprecompute <profile> <radius>|cancel", false)
+                sendMessage("§aEvent profiler §9-§c profiler <start|stop|reset|report>", false)
                 return true
             }
             if (s == "resetgui") {
@@ -112,5 +136,128 @@ class ModCommands : OnChatSendListener {
             lastCommand = ""
             return false
         }
+
+        /**
+         * Handles the ore simulation profile commands:
+         * - `.oreprofile add <name> <seed>` saves a profile.
+         * - `.oreprofile remove <name>` removes a profile.
+         * - `.oreprofile use <name>` makes ore ESP use the seed of a profile.
+         * - `.oreprofile list` lists the saved profiles.
+         *
+         * @param args The words of the command, starting with "oreprofile".
+         */
+        private fun handleOreProfile(args: List<String>) {
+            val config = Settings.getConfig<OreEspConfig>("oreesp")
+            when (args.getOrNull(1)) {
+                "add" -> {
+                    val name = args.getOrNull(2)
+                    val seed = args.getOrNull(3)?.toLongOrNull()
+                    if (name == null || seed == null) {
+                        sendMessage("§cUsage: .oreprofile add <name> <seed>", true)
+                        return
+                    }
+                    config.addProfile(OreProfile(name, seed))
+                    sendMessage("Saved ore profile §l$name§r.", true)
+                }
+
+                "remove" -> {
+                    val name = args.getOrNull(2) ?: ""
+                    if (config.removeProfile(name)) sendMessage("Removed ore profile §l$name§r.", true)
+                    else sendMessage("§cUnknown ore profile: §l$name", true)
+                }
+
+                "use" -> {
+                    val name = args.getOrNull(2) ?: ""
+                    val profile = config.getProfile(name)
+                    if (profile == null) {
+                        sendMessage("§cUnknown ore profile: §l$name", true)
+                        return
+                    }
+                    config.seed = profile.seed.toString()
+                    ModOreEsp.reload()
+                    sendMessage("Ore ESP now uses profile §l${profile.name}§r.", true)
+                }
+
+                "list" -> {
+                    if (config.getProfiles().isEmpty()) sendMessage("There are no ore profiles.", true)
+                    for (profile in config.getProfiles()) {
+                        sendMessage("§a${profile.name} §9-§r ${profile.seed}", false)
+                    }
+                }
+
+                else -> sendMessage("§cUsage: .oreprofile <add|remove|use|list>", true)
+            }
+        }
+
+        /**
+         * Handles the event profiler commands:
+         * - `.profiler start` clears the recorded timings and starts profiling.
+         * - `.profiler stop` stops profiling, keeping the recorded timings.
+         * - `.profiler reset` clears the recorded timings.
+         * - `.profiler report [events] [count]` lists the most expensive listeners, or event types.
+         *
+         * @param args The words of the command, starting with "profiler".
+         */
+        private fun handleProfiler(args: List<String>) {
+            when (args.getOrNull(1)) {
+                "start" -> {
+                    EventProfiler.start()
+                    sendMessage("Event profiling started.", true)
+                }
+
+                "stop" -> {
+                    EventProfiler.stop()
+                    sendMessage("Event profiling stopped.", true)
+                }
+
+                "reset" -> {
+                    EventProfiler.reset()
+                    sendMessage("Event profiler timings cleared.", true)
+                }
+
+                "report" -> {
+                    val events = args.getOrNull(2) == "events"
+                    val count = args.getOrNull(if (events) 3 else 2)?.toIntOrNull() ?: 10
+                    val report = EventProfiler.report(!events)
+                    if (report.isEmpty()) {
+                        sendMessage("Nothing was profiled, use §l.profiler start§r first.", true)
+                        return
+                    }
+                    sendMessage("§bMost expensive ${if (events) "events" else "listeners"}:", true)
+                    report.take(count).forEach { sendMessage("§a" + it.summary(), false) }
+                }
+
+                else -> sendMessage("§cUsage: .profiler <start|stop|reset|report [events] [count]>", true)
+            }
+        }
+
+        /**
+         * Handles the ore precompute commands:
+         * - `.oreprecompute <profile> <radius>` precomputes the ores of the chunks within the radius of the player.
+         * - `.oreprecompute cancel` stops the running precompute.
+         *
+         * @param args The words of the command, starting with "oreprecompute".
+         */
+        private fun handleOrePrecompute(args: List<String>) {
+            if (args.getOrNull(1) == "cancel") {
+                if (!OrePrecompute.cancel()) sendMessage("§cNo ore precompute is running.", true)
+                return
+            }
+            val profile = args.getOrNull(1)?.let { Settings.getConfig<OreEspConfig>("oreesp").getProfile(it) }
+            val radius = args.getOrNull(2)?.toIntOrNull()
+            if (profile == null || radius == null || radius !in 0..OrePrecompute.MAX_RADIUS) {
+                sendMessage("§cUsage: .oreprecompute <profile> <radius 0-${OrePrecompute.MAX_RADIUS}>", true)
+                sendMessage("§cor: .oreprecompute cancel", false)
+                return
+            }
+            val client = GavinsModClient.minecraftClient
+            val world = client.getWorld()
+            val dimension = Dimension.fromValue(world.dimensionType().skybox.toString())
+            val minY = world.minY
+            val height = world.dimensionType().logicalHeight
+            if (!OrePrecompute.start(profile, dimension, minY, height, client.getPlayer().chunkPosition(), radius)) {
+                sendMessage("§cAn ore precompute is already running.", true)
+            }
+        }
     }
 }
\ No newline at end of file
@@ -41,12 +41,13 @@ import net.minecraft.world.level.chunk.ChunkAccess
 import org.joml.Matrix3x2fStack
 import org.joml.Vector3f
 import org.lwjgl.opengl.GL11
+import kotlin.math.sqrt
 
 
 /**
  * A utility class for rendering tracers and esp's.
  * @author GT3CH1
- * @version 09-08-2024
+ * @version 10-18-2026
  * @since 07-18-2023
  */
 object RenderUtils {
@@ -416,23 +417,65 @@ object RenderUtils {
         alpha: Float = 1f,
         buffer: VertexConsumer,
     ) {
-        val posMatrix = matrixStack.last()
         val x1 = start.x.toFloat()
         val y1 = start.y.toFloat()
         val z1 = start.z.toFloat()
         val x2 = end.x.toFloat()
         val y2 = end.y.toFloat()
         val z2 = end.z.toFloat()
-        val normal = Vector3f(x2, y2, z2).sub(Vector3f(x1, y1, z1)).normalize()
-        buffer.addVertex(posMatrix, x1, y1, z1)
-            .setColor(color.getRed(), color.getGreen(), color.getBlue(), alpha)
-            .setNormal(normal.x(), normal.y(), normal.z())
+        val dx = x2 - x1
+        val dy = y2 - y1
+        val dz = z2 - z1
+        val length = sqrt(dx * dx + dy * dy + dz * dz)
+        val scale = if (length == 0f) 0f else 1f / length
+        drawSingleLineOptimized(
+            matrixStack.last(),
+            x1, y1, z1,
+            x2, y2, z2,
+            dx * scale, dy * scale, dz * scale,
+            color.getAsInt(alpha),
+            buffer
+        )
+    }
+
+    /**
+     * Draws a single line from primitive, already camera-relative coordinates with a precomputed normal.
+     * This does not allocate, and is meant for drawing many lines each frame.
+     * @param pose The pose to draw with.
+     * @param x1 The x coordinate of the start of the line.
+     * @param y1 The y coordinate of the start of the line.
+     * @param z1 The z coordinate of the start of the line.
+     * @param x2 The x coordinate of the end of the line.
+     * @param y2 The y coordinate of the end of the line.
+     * @param z2 The z coordinate of the end of the line.
+     * @param normalX The x component of the normalized line direction.
+     * @param normalY The y component of the normalized line direction.
+     * @param normalZ The z component of the normalized line direction.
+     * @param color The ARGB color of the line.
+     * @param buffer The buffer to draw into.
+     */
+    fun drawSingleLineOptimized(
+        pose: PoseStack.Pose,
+        x1: Float,
+        y1: Float,
+        z1: Float,
+        x2: Float,
+        y2: Float,
+        z2: Float,
+        normalX: Float,
+        normalY: Float,
+        normalZ: Float,
+        color: Int,
+        buffer: VertexConsumer,
+    ) {
+        buffer.addVertex(pose, x1, y1, z1)
+            .setColor(color)
+            .setNormal(normalX, normalY, normalZ)
             .setLineWidth(2.0f)
-        buffer.addVertex(posMatrix, x2, y2, z2)
-            .setColor(color.getRed(), color.getGreen(), color.getBlue(), alpha)
-            .setNormal(normal.x(), normal.y(), normal.z())
+        buffer.addVertex(pose, x2, y2, z2)
+            .setColor(color)
+            .setNormal(normalX, normalY, normalZ)
             .setLineWidth(2.0f)
-
     }
 
     fun drawSingleLine(
@@ -24,72 +24,89 @@
 
 package com.peasenet.util.block
 
+import kotlin.math.sign
+
 /**
  * An edge of a block.
+ * @param mask The mask of the edge.
+ * @param x1 The x offset of the start of the edge, relative to the block.
+ * @param y1 The y offset of the start of the edge, relative to the block.
+ * @param z1 The z offset of the start of the edge, relative to the block.
+ * @param x2 The x offset of the end of the edge, relative to the block.
+ * @param y2 The y offset of the end of the edge, relative to the block.
+ * @param z2 The z offset of the end of the edge, relative to the block.
  * @author GT3CH1
- * @version 09-12-2024
+ * @version 10-18-2026
  * @since 09-12-2024
  */
-enum class Edge(val mask: Int) {
+enum class Edge(
+    val mask: Int,
+    val x1: Int = 0,
+    val y1: Int = 0,
+    val z1: Int = 0,
+    val x2: Int = 0,
+    val y2: Int = 0,
+    val z2: Int = 0,
+) {
     /**
      * The lower x-axis edge of a block.
      */
-    Edge1(1 shl 1),
+    Edge1(1 shl 1, 0, 0, 0, 0, 0, 1),
 
     /**
      * The lower z+ axis edge of a block.
      */
-    Edge2(1 shl 2),
+    Edge2(1 shl 2, 0, 0, 1, 1, 0, 1),
 
     /**
      * The lower x+ axis edge of a block.
      */
-    Edge3(1 shl 3),
+    Edge3(1 shl 3, 1, 0, 1, 1, 0, 0),
 
     /**
      * The lower z- axis edge of a block.
      */
-    Edge4(1 shl 4),
+    Edge4(1 shl 4, 1, 0, 0, 0, 0, 0),
 
     /**
      * The x- and z- corner of a block.
      */
-    Edge5(1 shl 5),
+    Edge5(1 shl 5, 0, 0, 0, 0, 1, 0),
 
     /**
      * The x- and z+ corner of a block.
      */
-    Edge6(1 shl 6),
+    Edge6(1 shl 6, 0, 0, 1, 0, 1, 1),
 
     /**
      * The x+ and z+ corner of a block.
      */
-    Edge7(1 shl 7),
+    Edge7(1 shl 7, 1, 0, 1, 1, 1, 1),
 
     /**
      * The x+ and z- corner of a block.
      */
-    Edge8(1 shl 8),
+    Edge8(1 shl 8, 1, 0, 0, 1, 1, 0),
 
     /**
      * The upper x- axis edge of a block.
      */
-    Edge9(1 shl 9),
+    Edge9(1 shl 9, 0, 1, 0, 0, 1, 1),
 
     /**
      * The upper z+ axis edge of a block.
      */
-    Edge10(1 shl 10),
+    Edge10(1 shl 10, 0, 1, 1, 1, 1, 1),
 
     /**
      * The upper x+ axis edge of a block.
      */
-    Edge11(1 shl 11),
+    Edge11(1 shl 11, 1, 1, 1, 1, 1, 0),
 
     /**
      * The upper z- axis edge of a block.
      */
-    Edge12(1 shl 12),
+    Edge12(1 shl 12, 1, 1, 0, 0, 1, 0),
 
     /**
      * All edges of a block.
@@ -99,7 +116,45 @@ enum class Edge(val mask: Int) {
     /**
      * No edges of a block.
      */
-    None(0)
+    None(0);
+
+    /**
+     * The x component of the direction of the edge.
+     */
+    val normalX: Float = (x2 - x1).sign.toFloat()
+
+    /**
+     * The y component of the direction of the edge.
+     */
+    val normalY: Float = (y2 - y1).sign.toFloat()
+
+    /**
+     * The z component of the direction of the edge.
+     */
+    val normalZ: Float = (z2 - z1).sign.toFloat()
+
+    companion object {
+        /**
+         * The twelve edges that have geometry, [Edge1] through [Edge12].
+         */
+        private val LINES = entries.filter { it != All && it != None }
+
+        /**
+         * The edges for every combination of the twelve edge bits, indexed by `mask shr 1`.
+         */
+        private val BY_MASK: Array<Array<Edge>> = Array(1 shl LINES.size) { bits ->
+            LINES.filter { (bits shl 1) and it.mask != 0 }.toTypedArray()
+        }
+
+        /**
+         * Gets the edges that are set in the given [mask], without allocating.
+         * @param mask The edge mask.
+         * @return The edges in the mask, in order from [Edge1] to [Edge12].
+         */
+        fun fromMask(mask: Int): Array<Edge> {
+            return BY_MASK[(mask shr 1) and 0xFFF]
+        }
+    }
 }
 
 infix fun Edge.or(other: Edge): Int {
@@ -24,17 +24,13 @@
 
 package com.peasenet.util.block
 
-import com.peasenet.extensions.add
-import com.peasenet.extensions.and
-import com.peasenet.extensions.nand
-import com.peasenet.extensions.toVec3d
 import com.peasenet.gavui.color.Color
 import com.peasenet.util.RenderUtils
 import com.peasenet.util.RenderUtils.getCameraPos
 import com.mojang.blaze3d.vertex.PoseStack
 import com.mojang.blaze3d.vertex.VertexConsumer
 import net.minecraft.core.BlockPos
-import net.minecraft.world.phys.AABB
+import net.minecraft.core.Direction
 import net.minecraft.world.phys.Vec3
 import org.joml.Matrix3x2fStack
 
@@ -45,7 +41,7 @@ import org.joml.Matrix3x2fStack
  * @param z The z-coordinate of the block.
  * @param visibleFilter The filter to determine whether the block is visible.
  * @author GT3CH1
- * @version 01-25-2025
+ * @version 10-18-2026
  * @since 09-12-2024
  */
 class GavBlock(
@@ -67,18 +63,35 @@ class GavBlock(
     )
 
 
+    /**
+     * The mask of the neighbors that pass [visibleFilter], one bit per [Direction] ordinal.
+     */
+    private var neighbors = 0
+
+    /**
+     * Whether the block itself passes [visibleFilter], as of the last [update].
+     */
+    private var present = false
+
     /**
      * What edges are visible.
      */
     private var visibleEdges = Edge.All.mask
 
+    /**
+     * Gets the mask of the edges to draw.
+     * @param structureEsp Whether only the outer edges of a structure are drawn.
+     * @return The mask of the visible edges if [structureEsp] is true, otherwise [Edge.All].
+     */
+    fun edges(structureEsp: Boolean): Int {
+        return if (structureEsp) visibleEdges else Edge.All.mask
+    }
+
     /**
      * Gets whether the block is visible.
      */
     fun isVisible(): Boolean {
-        return visibleEdges != Edge.None.mask && visibleFilter(
-            pos
-        )
+        return visibleEdges != Edge.None.mask && present
     }
 
 
@@ -87,21 +100,26 @@ class GavBlock(
     }
 
     /**
-     * Updates the edges of the block.
+     * Updates the block and all six of its neighbors using [visibleFilter].
      */
     fun update() {
-        val up = hasNeighbor(pos.above())
-        val below = hasNeighbor(pos.below())
-        val east = hasNeighbor(pos.east())
-        val west = hasNeighbor(pos.west())
-        val south = hasNeighbor(pos.south())
-        val north = hasNeighbor(pos.north())
-        var mask =
-            (Neighbors.East and east) + (Neighbors.North and north) + (Neighbors.South and south) + (Neighbors.West and west) + (Neighbors.Above and up) + (Neighbors.Below and below)
-        if (!(up && below && east && west && south && north)) {
-            mask = Neighbors.entries.sumOf { it.mask }
+        present = visibleFilter(pos)
+        var mask = 0
+        for (direction in DIRECTIONS) {
+            if (hasNeighbor(pos.relative(direction))) {
+                mask = mask or (1 shl direction.ordinal)
+            }
         }
-        setVisibleEdges(mask)
+        setNeighbors(mask)
+    }
+
+    /**
+     * Updates only the neighbor in the given [direction], for when that single neighbor has changed.
+     * @param direction The direction of the neighbor that changed.
+     */
+    fun updateNeighbor(direction: Direction) {
+        val bit = 1 shl direction.ordinal
+        setNeighbors(if (hasNeighbor(pos.relative(direction))) neighbors or bit else neighbors and bit.inv())
     }
 
 
@@ -115,39 +133,12 @@ class GavBlock(
     }
 
     /**
-     * Sets the visible edges of the block.
-     * @param neighbors The mask of the neighbors.
+     * Sets the neighbor mask of the block, and the visible edges that follow from it.
+     * @param neighbors The mask of the neighbors, one bit per [Direction] ordinal.
      */
-    private fun setVisibleEdges(neighbors: Int) {
-        visibleEdges = Edge.All.mask
-        if (neighbors == Neighbors.None.mask) {
-            visibleEdges = Edge.None.mask
-            return
-        }
-        if (hasNeighbor(pos.east())) {
-            visibleEdges = visibleEdges nand Edge.Edge3 nand Edge.Edge11
-            visibleEdges = visibleEdges nand Edge.Edge7 nand Edge.Edge8
-        }
-        if (hasNeighbor(pos.west())) {
-            visibleEdges = visibleEdges nand Edge.Edge1 nand Edge.Edge9
-            visibleEdges = visibleEdges nand Edge.Edge5 nand Edge.Edge6
-        }
-        if (hasNeighbor(pos.north())) {
-            visibleEdges = visibleEdges nand Edge.Edge4 nand Edge.Edge12
-            visibleEdges = visibleEdges nand Edge.Edge8 nand Edge.Edge5
-        }
-        if (hasNeighbor(pos.south())) {
-            visibleEdges = visibleEdges nand Edge.Edge2 nand Edge.Edge10
-            visibleEdges = visibleEdges nand Edge.Edge6 nand Edge.Edge7
-        }
-        if (hasNeighbor(pos.above())) {
-            visibleEdges = visibleEdges nand Edge.Edge9 nand Edge.Edge10
-            visibleEdges = visibleEdges nand Edge.Edge11 nand Edge.Edge12
-        }
-        if (hasNeighbor(pos.below())) {
-            visibleEdges = visibleEdges nand Edge.Edge1 nand Edge.Edge2
-            visibleEdges = visibleEdges nand Edge.Edge3 nand Edge.Edge4
-        }
+    private fun setNeighbors(neighbors: Int) {
+        this.neighbors = neighbors
+        visibleEdges = VISIBLE_EDGES[neighbors]
     }
 
     /**
@@ -157,222 +148,111 @@ class GavBlock(
 
     /**
      * Renders the edges of the block.
-     * @param edges The edges to render.
-     * @param blockPos The position of the block.
+     * @param edges The mask of the edges to render.
+     * @param offsetX The x position of the block relative to the camera.
+     * @param offsetY The y position of the block relative to the camera.
+     * @param offsetZ The z position of the block relative to the camera.
      * @param matrixStack The matrix stack to render with.
-     * @param bufferBuilder The buffer builder to render with.
-     * @param color The color to render with.
-     * @param alpha The alpha to render with.
+     * @param color The ARGB color to render with.
+     * @param buffer The buffer to render into.
      */
     private fun renderEdges(
         edges: Int,
-        blockPos: Vec3,
+        offsetX: Float,
+        offsetY: Float,
+        offsetZ: Float,
         matrixStack: PoseStack,
-        color: Color,
-        alpha: Float,
+        color: Int,
         buffer: VertexConsumer,
     ) {
-        if (edges and Edge.All == Edge.All.mask) {
-            renderEdge(Edge.All, blockPos, matrixStack, color, alpha, buffer)
-            return
-        }
-        Edge.entries.filter { it != Edge.All && it != Edge.None }.forEach { edge ->
-            val maskedVal = edges and edge
-            if (maskedVal != 0) {
-                renderEdge(edge, blockPos, matrixStack, color, alpha, buffer)
-            }
+        val pose = matrixStack.last()
+        for (edge in Edge.fromMask(edges)) {
+            RenderUtils.drawSingleLineOptimized(
+                pose,
+                offsetX + edge.x1, offsetY + edge.y1, offsetZ + edge.z1,
+                offsetX + edge.x2, offsetY + edge.y2, offsetZ + edge.z2,
+                edge.normalX, edge.normalY, edge.normalZ,
+                color,
+                buffer
+            )
         }
     }
 
     /**
-     * Renders an edge of the block.
-     * @param edge The edge to render.
-     * @param blockPos The position of the block.
+     * Renders the block.
      * @param matrixStack The matrix stack to render with.
-     * @param bufferBuilder The buffer builder to render with.
      * @param color The color to render with.
+     * @param partialTicks The partial ticks to render with.
      * @param alpha The alpha to render with.
+     * @param structureEsp Whether to render the block as a structure.
+     * @param tracers Whether to render a tracer to the block.
+     * @param buffer The buffer to render into.
      */
-    private fun renderEdge(
-        edge: Edge,
-        blockPos: Vec3,
+    fun render(
         matrixStack: PoseStack,
         color: Color,
+        partialTicks: Float,
         alpha: Float,
+        structureEsp: Boolean = false,
+        tracers: Boolean = false,
         buffer: VertexConsumer,
     ) {
-        val startPos = blockPos.add((getCameraPos().reverse()))
-        when (edge) {
-            Edge.Edge1 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack, startPos, startPos.add(0, 0, 1), color, alpha, buffer
-                )
-            }
-
-            Edge.Edge2 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(0, 0, 1),
-                    startPos.add(1, 0, 1),
-                    color,
-                    alpha,
-                    buffer
-                )
-            }
-
-            Edge.Edge3 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack, startPos.add(1, 0, 1), startPos.add(1, 0, 0), color, alpha,buffer
-                )
-            }
-
-            Edge.Edge4 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(1, 0, 0),
-                    startPos.add(0, 0, 0),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge5 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos,
-                    startPos.add(0, 1, 0),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge6 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(0, 0, 1),
-                    startPos.add(0, 1, 1),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge7 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(1, 0, 1),
-                    startPos.add(1, 1, 1),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge8 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(1, 0, 0),
-                    startPos.add(1, 1, 0),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge9 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(0, 1, 0),
-                    startPos.add(0, 1, 1),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge10 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(0, 1, 1),
-                    startPos.add(1, 1, 1),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge11 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(1, 1, 1),
-                    startPos.add(1, 1, 0),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.Edge12 -> {
-                RenderUtils.drawSingleLineOptimized(
-                    matrixStack,
-                    startPos.add(1, 1, 0),
-                    startPos.add(0, 1, 0),
-                    color,
-                    alpha,
-                    buffer,
-                )
-            }
-
-            Edge.All -> {
-                val bb = AABB(
-                    blockPos.x + 1, blockPos.y, blockPos.z + 1, blockPos.x, blockPos.y + 1.0, blockPos.z
-                )
-                RenderUtils.drawOutlinedBoxOptimized(bb, matrixStack, color, alpha, buffer)
-            }
-
-            Edge.None -> {}
-        }
+        val camera = getCameraPos()
+        render(matrixStack, color, partialTicks, alpha, structureEsp, tracers, buffer, camera.x, camera.y, camera.z)
     }
 
     /**
-     * Renders the block.
+     * Renders the block, with the camera position computed once by the caller for every block drawn this frame.
      * @param matrixStack The matrix stack to render with.
-     * @param bufferBuilder The buffer builder to render with.
      * @param color The color to render with.
      * @param partialTicks The partial ticks to render with.
      * @param alpha The alpha to render with.
      * @param structureEsp Whether to render the block as a structure.
+     * @param tracers Whether to render a tracer to the block.
+     * @param buffer The buffer to render into.
+     * @param cameraX The x position of the camera.
+     * @param cameraY The y position of the camera.
+     * @param cameraZ The z position of the camera.
      */
     fun render(
         matrixStack: PoseStack,
         color: Color,
         partialTicks: Float,
         alpha: Float,
-        structureEsp: Boolean = false,
-        tracers: Boolean = false,
+        structureEsp: Boolean,
+        tracers: Boolean,
         buffer: VertexConsumer,
+        cameraX: Double,
+        cameraY: Double,
+        cameraZ: Double,
     ) {
+        val colorToRender = (this.color ?: color).getAsInt(alpha)
+        renderEdges(
+            edges(structureEsp),
+            (x - cameraX).toFloat(),
+            (y - cameraY).toFloat(),
+            (z - cameraZ).toFloat(),
+            matrixStack,
+            colorToRender,
+            buffer
+        )
+        if (tracers) renderTracer(matrixStack, color, partialTicks, alpha)
+    }
 
-        val colorToRender = this.color ?: color
-        matrixStack.pushPose()
-        val offsetPos = pos.toVec3d()
-        if (structureEsp) renderEdges(visibleEdges, offsetPos, matrixStack, colorToRender, alpha, buffer)
-        else renderEdges(Edge.All.mask, offsetPos, matrixStack, colorToRender, alpha, buffer)
-        if (tracers) {
-            val tracerOrigin = RenderUtils.getLookVec(partialTicks).scale(10.0)
-            RenderUtils.drawSingleLine(
-                matrixStack,
-                tracerOrigin,
-                offsetPos.add(0.5, 0.5, 0.5),
-                color,
-                alpha,
-                withOffset = true,
-                depthTest = false
-            )
-        }
-        matrixStack.popPose()
+    /**
+     * Renders a tracer from the player's view to the center of the block.
+     * @param matrixStack The matrix stack to render with.
+     * @param color The color to render with.
+     * @param partialTicks The partial ticks to render with.
+     * @param alpha The alpha to render with.
+     */
+    fun renderTracer(
+        matrixStack: PoseStack,
+        color: Color,
+        partialTicks: Float,
+        alpha: Float,
+    ) {
+        renderTracer(matrixStack, x, y, z, color, partialTicks, alpha)
     }
 
     override fun equals(other: Any?): Boolean {
@@ -384,4 +264,74 @@ class GavBlock(
 
         return true
     }
+
+    companion object {
+        private val DIRECTIONS = Direction.entries.toTypedArray()
+
+        /**
+         * The edges that are hidden by a neighbor in each direction, indexed by [Direction] ordinal.
+         */
+        private val HIDDEN_EDGES = IntArray(DIRECTIONS.size).also {
+            it[Direction.DOWN.ordinal] = Edge.Edge1.mask or Edge.Edge2.mask or Edge.Edge3.mask or Edge.Edge4.mask
+            it[Direction.UP.ordinal] = Edge.Edge9.mask or Edge.Edge10.mask or Edge.Edge11.mask or Edge.Edge12.mask
+            it[Direction.NORTH.ordinal] = Edge.Edge4.mask or Edge.Edge12.mask or Edge.Edge8.mask or Edge.Edge5.mask
+            it[Direction.SOUTH.ordinal] = Edge.Edge2.mask or Edge.Edge10.mask or Edge.Edge6.mask or Edge.Edge7.mask
+            it[Direction.WEST.ordinal] = Edge.Edge1.mask or Edge.Edge9.mask or Edge.Edge5.mask or Edge.Edge6.mask
+            it[Direction.EAST.ordinal] = Edge.Edge3.mask or Edge.Edge11.mask or Edge.Edge7.mask or Edge.Edge8.mask
+        }
+
+        /**
+         * The visible edges for every neighbor mask. A block whose neighbors hide all twelve edges maps to
+         * [Edge.None].
+         */
+        private val VISIBLE_EDGES = IntArray(1 shl DIRECTIONS.size) { neighbors ->
+            var hidden = 0
+            for (direction in DIRECTIONS) {
+                if (neighbors and (1 shl direction.ordinal) != 0) {
+                    hidden = hidden or HIDDEN_EDGES[direction.ordinal]
+                }
+            }
+            Edge.fromMask(Edge.All.mask).sumOf { if (it.mask and hidden == 0) it.mask else 0 }
+        }
+
+        /**
+         * Gets the edges that are visible on a block with the given neighbors.
+         * @param neighbors The mask of the neighbors, one bit per [Direction] ordinal.
+         * @return The mask of the visible edges, or [Edge.None] if every edge is hidden.
+         */
+        fun edgesFor(neighbors: Int): Int {
+            return VISIBLE_EDGES[neighbors]
+        }
+
+        /**
+         * Renders a tracer from the player's view to the center of the block at the given position.
+         * @param matrixStack The matrix stack to render with.
+         * @param x The x-coordinate of the block.
+         * @param y The y-coordinate of the block.
+         * @param z The z-coordinate of the block.
+         * @param color The color to render with.
+         * @param partialTicks The partial ticks to render with.
+         * @param alpha The alpha to render with.
+         */
+        fun renderTracer(
+            matrixStack: PoseStack,
+            x: Int,
+            y: Int,
+            z: Int,
+            color: Color,
+            partialTicks: Float,
+            alpha: Float,
+        ) {
+            val tracerOrigin = RenderUtils.getLookVec(partialTicks).scale(10.0)
+            RenderUtils.drawSingleLine(
+                matrixStack,
+                tracerOrigin,
+                Vec3(x + 0.5, y + 0.5, z + 0.5),
+                color,
+                alpha,
+                withOffset = true,
+                depthTest = false
+            )
+        }
+    }
 }
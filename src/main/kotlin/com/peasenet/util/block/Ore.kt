@@ -2,9 +2,9 @@ package com.peasenet.util.block
 
 import com.peasenet.config.esp.OreEspConfig
 import com.peasenet.gavui.color.Color
-import com.peasenet.gavui.color.Colors
 import com.peasenet.main.Settings
 import com.peasenet.util.Dimension
+import net.minecraft.SharedConstants
 import net.minecraft.client.Minecraft
 import net.minecraft.core.HolderLookup
 import net.minecraft.core.registries.Registries
@@ -28,11 +28,17 @@ import net.minecraft.world.level.levelgen.placement.HeightRangePlacement
 import net.minecraft.world.level.levelgen.placement.PlacedFeature
 import net.minecraft.world.level.levelgen.placement.RarityFilter
 import net.minecraft.world.level.levelgen.presets.WorldPresets
+import java.util.Objects
+import java.util.concurrent.ConcurrentHashMap
 
 /**
+ * An ore feature of world generation, used by ore ESP to replay ore placement.
+ *
+ * Whether an ore is shown and its color are not stored here, they are read from the [OreEspConfig] through its
+ * [type], so the cached [registry] stays valid when either changes.
  *
  * @author GT3CH1
- * @version 12-06-2025
+ * @version 10-18-2026
  * @since 12-06-2025
  */
 class Ore {
@@ -46,24 +52,56 @@ class Ore {
     var discardOnAirChance = 0.0f
     var size: Int = 0
     var isScattered: Boolean = false
-    var enabled: Boolean = false
-    var color: Color = Colors.WHITE
+    val type: OreType
     var blockState: BlockState
 
+    /**
+     * The position of this ore among the ores of its [registry], from 0. Used as a bit index by [OreBiomeTable].
+     */
+    val ordinal: Int
+
+    /**
+     * Whether this ore is shown, from the current [OreEspConfig].
+     */
+    val enabled: Boolean
+        get() = type.isEnabled(getSettings())
+
+    /**
+     * The color of this ore, from the current [OreEspConfig].
+     */
+    val color: Color
+        get() = type.getColor(getSettings())
+
+    /**
+     * A stable id of the ore, made from its generation [step] and its feature [index] within that step.
+     */
+    val id: Int
+        get() = step shl 16 or index
+
+    /**
+     * A hash of how this ore generates, stable across game launches.
+     */
+    private fun fingerprint(): Int {
+        return Objects.hash(
+            id, count.toString(), heightProvider.toString(), rarity, discardOnAirChance, size, isScattered,
+            blockState.toString()
+        )
+    }
+
     private constructor(
         placedFeature: PlacedFeature,
         genStep: Int,
         index: Int,
+        ordinal: Int,
         heightContext: WorldGenerationContext,
-        enabled: Boolean,
-        color: Color,
+        type: OreType,
         blockState: BlockState,
     ) {
         this.placedFeature = placedFeature
         this.step = genStep
         this.index = index
-        this.enabled = enabled
-        this.color = color
+        this.ordinal = ordinal
+        this.type = type
         this.heightContext = heightContext
         this.blockState = blockState
         for (modifier in placedFeature.placement) {
@@ -93,7 +131,82 @@ class Ore {
             return Settings.getConfig("oreesp")
         }
 
-        fun registry(dimension: Dimension): MutableMap<ResourceKey<Biome>, out List<Ore>> {
+        /**
+         * The ore tables built so far, by dimension and world height.
+         */
+        private val registries = ConcurrentHashMap<RegistryKey, Map<ResourceKey<Biome>, List<Ore>>>()
+
+        /**
+         * Identifies an ore table: the ores of a dimension only depend on the dimension and its height.
+         */
+        private data class RegistryKey(val dimension: Dimension, val minY: Int, val logicalHeight: Int)
+
+        /**
+         * The fingerprints computed so far, by dimension and world height.
+         */
+        private val fingerprints = ConcurrentHashMap<RegistryKey, Int>()
+
+        /**
+         * Gets the ores that can generate in each biome of the given [dimension], for the height of the current world.
+         * The table is only built once per dimension and world height, and reused afterwards.
+         *
+         * @param dimension The dimension.
+         * @return The ores of each biome.
+         */
+        fun registry(dimension: Dimension): Map<ResourceKey<Biome>, List<Ore>> {
+            val level = Minecraft.getInstance().level
+            val minY = level?.minY ?: -64
+            val logicalHeight = level?.dimensionType()?.logicalHeight ?: 384
+            return registry(dimension, minY, logicalHeight)
+        }
+
+        /**
+         * Gets the ores that can generate in each biome of the given [dimension], for a world of the given height, such
+         * as the world an [com.peasenet.util.chunk.OrePrecompute] runs for.
+         *
+         * @param dimension The dimension.
+         * @param minY The lowest y coordinate of the dimension.
+         * @param logicalHeight The logical height of the dimension.
+         * @return The ores of each biome.
+         */
+        fun registry(dimension: Dimension, minY: Int, logicalHeight: Int): Map<ResourceKey<Biome>, List<Ore>> {
+            return registries.computeIfAbsent(RegistryKey(dimension, minY, logicalHeight)) {
+                buildRegistry(dimension, minY, logicalHeight)
+            }
+        }
+
+        /**
+         * Gets a hash of the ores of the given [dimension] for a world of the given height, of how each of them
+         * generates and in which biomes, and of the game version. It changes whenever the ores placed in such a world
+         * could change, so caches of simulated ores can be kept apart.
+         *
+         * @param dimension The dimension.
+         * @param minY The lowest y coordinate of the dimension.
+         * @param logicalHeight The logical height of the dimension.
+         * @return The fingerprint of the ore table.
+         */
+        fun fingerprint(dimension: Dimension, minY: Int, logicalHeight: Int): Int {
+            return fingerprints.computeIfAbsent(RegistryKey(dimension, minY, logicalHeight)) {
+                val biomes = registry(dimension, minY, logicalHeight)
+                var hash = SharedConstants.getCurrentVersion().name().hashCode()
+                for (ore in biomes.values.flatten().distinct().sortedBy { it.id }) {
+                    hash = 31 * hash + ore.fingerprint()
+                }
+                for ((biome, ores) in biomes.entries.sortedBy { it.key.toString() }) {
+                    hash = 31 * hash + biome.toString().hashCode()
+                    for (ore in ores) {
+                        hash = 31 * hash + ore.id
+                    }
+                }
+                hash
+            }
+        }
+
+        /**
+         * Builds the ore table of a dimension. This creates the vanilla registries and sorts the features of every
+         * biome, which is slow, see [registry].
+         */
+        private fun buildRegistry(dimension: Dimension, minY: Int, logicalHeight: Int): Map<ResourceKey<Biome>, List<Ore>> {
             val registry = VanillaRegistries.createLookup()
             val features = registry.lookupOrThrow(Registries.PLACED_FEATURE)
             val reg = registry.lookupOrThrow(Registries.WORLD_PRESET)
@@ -103,16 +216,9 @@ class Ore {
                 Dimension.NETHER -> reg[LevelStem.NETHER]
                 Dimension.END -> reg[LevelStem.END]
             }
-            if (dim == null) return mutableMapOf()
+            if (dim == null) return mapOf()
             val biomes = dim.generator.biomeSource.possibleBiomes();
-            val heightContext: WorldGenerationContext?
-            if (Minecraft.getInstance().level != null) {
-                val bottom: Int = Minecraft.getInstance().level!!.minY
-                val logical: Int = Minecraft.getInstance().level!!.dimensionType().logicalHeight
-                heightContext = WorldGenerationContext(dim.generator(), LevelHeightAccessor.create(bottom, logical))
-            } else {
-                heightContext = WorldGenerationContext(dim.generator(), LevelHeightAccessor.create(-64, 384))
-            }
+            val heightContext = WorldGenerationContext(dim.generator(), LevelHeightAccessor.create(minY, logicalHeight))
             val biomeList = biomes.stream().toList()
 
             val indexer = FeatureSorter.buildFeaturesPerStep(
@@ -127,8 +233,7 @@ class Ore {
                 OrePlacements.ORE_COAL_UPPER,
                 6,
                 heightContext,
-                getSettings().coalEnabled,
-                getSettings().coalColor,
+                OreType.COAL,
                 Blocks.COAL_ORE.defaultBlockState()
             )
             registerOre(
@@ -138,8 +243,7 @@ class Ore {
                 OrePlacements.ORE_COAL_LOWER,
                 6,
                 heightContext,
-                getSettings().coalEnabled,
-                getSettings().coalColor,
+                OreType.COAL,
                 Blocks.COAL_ORE.defaultBlockState()
             )
             registerOre(
@@ -149,8 +253,7 @@ class Ore {
                 OrePlacements.ORE_IRON_MIDDLE,
                 6,
                 heightContext,
-                getSettings().ironEnabled,
-                getSettings().ironColor,
+                OreType.IRON,
                 Blocks.IRON_ORE.defaultBlockState()
             )
             registerOre(
@@ -160,8 +263,7 @@ class Ore {
                 OrePlacements.ORE_IRON_SMALL,
                 6,
                 heightContext,
-                getSettings().ironEnabled,
-                getSettings().ironColor,
+                OreType.IRON,
                 Blocks.IRON_ORE.defaultBlockState()
             )
             registerOre(
@@ -171,9 +273,7 @@ class Ore {
                 OrePlacements.ORE_IRON_UPPER,
                 6,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().ironColor,
-
+                OreType.IRON,
                 Blocks.IRON_ORE.defaultBlockState()
             )
             registerOre(
@@ -183,8 +283,7 @@ class Ore {
                 OrePlacements.ORE_GOLD,
                 6,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().goldColor,
+                OreType.GOLD,
                 Blocks.GOLD_ORE.defaultBlockState()
             )
             registerOre(
@@ -194,8 +293,7 @@ class Ore {
                 OrePlacements.ORE_GOLD_LOWER,
                 6,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().goldColor,
+                OreType.GOLD,
                 Blocks.DEEPSLATE_GOLD_ORE.defaultBlockState()
             )
             registerOre(
@@ -205,8 +303,7 @@ class Ore {
                 OrePlacements.ORE_GOLD_EXTRA,
                 6,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().goldColor,
+                OreType.GOLD,
                 Blocks.GOLD_ORE.defaultBlockState()
             )
 
@@ -217,8 +314,7 @@ class Ore {
                 OrePlacements.ORE_GOLD_NETHER,
                 7,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().goldColor,
+                OreType.GOLD,
                 Blocks.NETHER_GOLD_ORE.defaultBlockState()
             )
             registerOre(
@@ -228,8 +324,7 @@ class Ore {
                 OrePlacements.ORE_GOLD_DELTAS,
                 7,
                 heightContext,
-                getSettings().goldEnabled,
-                getSettings().goldColor,
+                OreType.GOLD,
                 Blocks.NETHER_GOLD_ORE.defaultBlockState()
             )
 
@@ -240,8 +335,7 @@ class Ore {
                 OrePlacements.ORE_REDSTONE,
                 6,
                 heightContext,
-                getSettings().redstoneEnabled,
-                getSettings().redstoneColor,
+                OreType.REDSTONE,
                 Blocks.REDSTONE_ORE.defaultBlockState()
             )
             registerOre(
@@ -251,8 +345,7 @@ class Ore {
                 OrePlacements.ORE_REDSTONE_LOWER,
                 6,
                 heightContext,
-                getSettings().redstoneEnabled,
-                getSettings().redstoneColor,
+                OreType.REDSTONE,
                 Blocks.DEEPSLATE_REDSTONE_ORE.defaultBlockState()
             )
             registerOre(
@@ -262,8 +355,7 @@ class Ore {
                 OrePlacements.ORE_DIAMOND,
                 6,
                 heightContext,
-                getSettings().diamondEnabled,
-                getSettings().diamondColor,
+                OreType.DIAMOND,
                 Blocks.DIAMOND_ORE.defaultBlockState()
             )
 
@@ -274,8 +366,7 @@ class Ore {
                 OrePlacements.ORE_DIAMOND_BURIED,
                 6,
                 heightContext,
-                getSettings().diamondEnabled,
-                getSettings().diamondColor,
+                OreType.DIAMOND,
                 Blocks.DIAMOND_ORE.defaultBlockState()
             )
             registerOre(
@@ -285,8 +376,7 @@ class Ore {
                 OrePlacements.ORE_DIAMOND_LARGE,
                 6,
                 heightContext,
-                getSettings().diamondEnabled,
-                getSettings().diamondColor,
+                OreType.DIAMOND,
                 Blocks.DIAMOND_ORE.defaultBlockState()
             )
             registerOre(
@@ -296,8 +386,7 @@ class Ore {
                 OrePlacements.ORE_DIAMOND_MEDIUM,
                 6,
                 heightContext,
-                getSettings().diamondEnabled,
-                getSettings().diamondColor,
+                OreType.DIAMOND,
                 Blocks.DIAMOND_ORE.defaultBlockState()
             )
 
@@ -308,8 +397,7 @@ class Ore {
                 OrePlacements.ORE_LAPIS,
                 6,
                 heightContext,
-                getSettings().lapisEnabled,
-                getSettings().lapisColor,
+                OreType.LAPIS,
                 Blocks.LAPIS_ORE.defaultBlockState()
             )
             registerOre(
@@ -319,8 +407,7 @@ class Ore {
                 OrePlacements.ORE_LAPIS,
                 6,
                 heightContext,
-                getSettings().lapisEnabled,
-                getSettings().lapisColor,
+                OreType.LAPIS,
                 Blocks.DEEPSLATE_LAPIS_ORE.defaultBlockState()
             )
             registerOre(
@@ -330,8 +417,7 @@ class Ore {
                 OrePlacements.ORE_COPPER,
                 6,
                 heightContext,
-                getSettings().copperEnabled,
-                getSettings().copperColor,
+                OreType.COPPER,
                 Blocks.COPPER_ORE.defaultBlockState()
             )
             registerOre(
@@ -341,8 +427,7 @@ class Ore {
                 OrePlacements.ORE_COPPER_LARGE,
                 6,
                 heightContext,
-                getSettings().copperEnabled,
-                getSettings().copperColor,
+                OreType.COPPER,
                 Blocks.COPPER_ORE.defaultBlockState()
             )
             registerOre(
@@ -352,8 +437,7 @@ class Ore {
                 OrePlacements.ORE_EMERALD,
                 6,
                 heightContext,
-                getSettings().emeraldEnabled,
-                getSettings().emeraldColor,
+                OreType.EMERALD,
                 Blocks.EMERALD_ORE.defaultBlockState()
             )
             registerOre(
@@ -363,8 +447,7 @@ class Ore {
                 OrePlacements.ORE_QUARTZ_NETHER,
                 7,
                 heightContext,
-                getSettings().quartzEnabled,
-                getSettings().quartzColor,
+                OreType.QUARTZ,
                 Blocks.NETHER_QUARTZ_ORE.defaultBlockState()
             )
             registerOre(
@@ -374,8 +457,7 @@ class Ore {
                 OrePlacements.ORE_QUARTZ_DELTAS,
                 7,
                 heightContext,
-                getSettings().quartzEnabled,
-                getSettings().quartzColor,
+                OreType.QUARTZ,
                 Blocks.NETHER_QUARTZ_ORE.defaultBlockState()
             )
             registerOre(
@@ -385,8 +467,7 @@ class Ore {
                 OrePlacements.ORE_ANCIENT_DEBRIS_SMALL,
                 7,
                 heightContext,
-                getSettings().debrisEnabled,
-                getSettings().debrisColor,
+                OreType.DEBRIS,
                 Blocks.ANCIENT_DEBRIS.defaultBlockState()
             )
             registerOre(
@@ -396,8 +477,7 @@ class Ore {
                 OrePlacements.ORE_ANCIENT_DEBRIS_LARGE,
                 7,
                 heightContext,
-                getSettings().debrisEnabled,
-                getSettings().debrisColor,
+                OreType.DEBRIS,
                 Blocks.ANCIENT_DEBRIS.defaultBlockState()
             )
 
@@ -421,13 +501,12 @@ class Ore {
             key: ResourceKey<PlacedFeature>,
             step: Int,
             heightContext: WorldGenerationContext,
-            enabled: Boolean,
-            color: Color,
+            type: OreType,
             blockState: BlockState,
         ) {
             val orePlacement = registry.get(key).get().value()
             val index = indexer[step].indexMapping.applyAsInt(orePlacement)
-            val ore = Ore(orePlacement, step, index, heightContext, enabled, color, blockState)
+            val ore = Ore(orePlacement, step, index, map.size, heightContext, type, blockState)
             map[orePlacement] = ore
         }
 
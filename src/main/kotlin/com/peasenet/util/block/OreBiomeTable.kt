@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.block
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap
+import net.minecraft.resources.ResourceKey
+import net.minecraft.world.level.biome.Biome
+
+/**
+ * A lookup table of which ores can generate in which biome, built from an [Ore.registry].
+ *
+ * Every biome maps to a bitmask with one bit per [Ore.ordinal], so checking whether an ore can generate in a biome is a
+ * single bit test, and the ores of several biomes can be gathered by or-ing their masks together.
+ * Biomes that are not in the registry can generate any ore.
+ *
+ * @param registry The ores of each biome.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OreBiomeTable(registry: Map<ResourceKey<Biome>, List<Ore>>) {
+
+    /**
+     * The ores of the registry, by [Ore.ordinal].
+     */
+    private val ores: Array<Ore?>
+
+    /**
+     * The ore mask of each biome.
+     */
+    private val masks = Object2LongOpenHashMap<ResourceKey<Biome>>()
+
+    /**
+     * The mask of every ore in the registry.
+     */
+    val allOres: Long
+
+    /**
+     * The mask of the ores that can generate in every biome. Simulating these does not depend on the biomes of a
+     * chunk, so they can be simulated before the chunk is loaded.
+     */
+    val universalOres: Long
+
+    init {
+        val count = registry.values.maxOfOrNull { ores -> ores.maxOfOrNull { it.ordinal + 1 } ?: 0 } ?: 0
+        require(count <= Long.SIZE_BITS) { "Too many ores for a biome mask: $count" }
+        ores = arrayOfNulls(count)
+        var all = 0L
+        var universal = -1L
+        for ((biome, biomeOres) in registry) {
+            var mask = 0L
+            for (ore in biomeOres) {
+                ores[ore.ordinal] = ore
+                mask = mask or (1L shl ore.ordinal)
+            }
+            masks.put(biome, mask)
+            all = all or mask
+            universal = universal and mask
+        }
+        allOres = all
+        universalOres = universal and all
+        masks.defaultReturnValue(all)
+    }
+
+    /**
+     * Gets the mask of the ores that can generate in the given [biome].
+     */
+    fun mask(biome: ResourceKey<Biome>?): Long {
+        if (biome == null) return allOres
+        return masks.getLong(biome)
+    }
+
+    /**
+     * Whether the given [ore] can generate in [biome].
+     */
+    fun canGenerate(biome: ResourceKey<Biome>?, ore: Ore): Boolean {
+        return mask(biome) and (1L shl ore.ordinal) != 0L
+    }
+
+    /**
+     * Gets the ores of the given mask, in [Ore.ordinal] order.
+     *
+     * @param mask A mask of ores, from [mask] or combined masks.
+     * @return The ores of the mask.
+     */
+    fun ores(mask: Long): List<Ore> {
+        val result = ArrayList<Ore>(mask.countOneBits())
+        var bits = mask
+        while (bits != 0L) {
+            ores[bits.countTrailingZeroBits()]?.let(result::add)
+            bits = bits and (bits - 1)
+        }
+        return result
+    }
+}
@@ -0,0 +1,325 @@
+package com.peasenet.util.block
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap
+import it.unimi.dsi.fastutil.longs.LongArrayList
+import net.minecraft.core.BlockPos
+import net.minecraft.core.Direction
+import net.minecraft.util.Mth
+import net.minecraft.world.level.block.state.BlockState
+import net.minecraft.world.level.levelgen.WorldgenRandom
+import java.util.*
+import kotlin.math.cos
+import kotlin.math.min
+import kotlin.math.roundToInt
+import kotlin.math.sin
+
+/**
+ * Simulates ore generation in two stages.
+ *
+ * [simulate] is a pure function of the seed, the chunk position and the ores. It replays the world generation random
+ * and produces candidate positions for every ore, without touching a world, so it can run on any thread and ahead of
+ * chunk loading. [validate] is the cheap second stage that filters those candidates against the block states of a
+ * loaded world.
+ *
+ * Vanilla consumes the random differently depending on the world: a normal vein is only placed if a column of its box
+ * reaches down to it, and the air exposure discard chance is only rolled for blocks the vein can replace. The seed
+ * stage assumes every vein is placed and every block of it is replaceable. [validate] checks these assumptions against
+ * the world, and if one of them does not hold it replays the ore against the world instead, so later veins of the ore
+ * are not placed from a random that drifted out of sync.
+ *
+ * This has been modified from NoraTweaks, based off of Meteor Rejects
+ * Source: https://github.com/noramibu/Nora-Tweaks, https://github.com/AntiCope/meteor-rejects/
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+object OreSimulator {
+
+    private val DIRECTIONS = Direction.entries.toTypedArray()
+
+    /**
+     * Simulates the ore generation of a chunk.
+     *
+     * @param seed The world seed.
+     * @param chunkX The chunk x coordinate.
+     * @param chunkZ The chunk z coordinate.
+     * @param ores The ores that can generate in the chunk.
+     * @param canGenerate Whether the given ore can generate at the given block position, usually a biome check.
+     * @return The candidates of each ore that generated any, by [Ore.id].
+     */
+    fun simulate(
+        seed: Long,
+        chunkX: Int,
+        chunkZ: Int,
+        ores: Iterable<Ore>,
+        canGenerate: (ore: Ore, x: Int, y: Int, z: Int) -> Boolean,
+    ): Int2ObjectOpenHashMap<OreCandidates> {
+        val random = WorldgenRandom(WorldgenRandom.Algorithm.XOROSHIRO.newInstance(0))
+        val populationSeed = random.setDecorationSeed(seed, chunkX shl 4, chunkZ shl 4)
+        val result = Int2ObjectOpenHashMap<OreCandidates>()
+        val positions = LongArrayList()
+        val airChecks = BitSet()
+        val veins = LongArrayList()
+        val rasterizer = VeinRasterizer()
+        for (ore in ores) {
+            positions.clear()
+            airChecks.clear()
+            veins.clear()
+            simulateOre(
+                random, populationSeed, chunkX, chunkZ, ore, canGenerate, rasterizer, positions, airChecks, veins,
+                null, null
+            )
+            if (!positions.isEmpty || !veins.isEmpty) {
+                result.put(ore.id, OreCandidates(positions.toLongArray(), airChecks.toLongArray(), veins.toLongArray()))
+            }
+        }
+        return result
+    }
+
+    /**
+     * Filters the candidates of [ore] in the chunk at ([chunkX], [chunkZ]) against a loaded world. A candidate is
+     * kept if the block at its position can occlude, and, if it needs the air exposure check, none of its neighbors is
+     * see-through.
+     *
+     * If the world breaks an assumption of the seed stage, see [OreSimulator], the ore is replayed against the world
+     * first, which costs as much as simulating it again.
+     *
+     * @param seed The world seed.
+     * @param chunkX The chunk x coordinate.
+     * @param chunkZ The chunk z coordinate.
+     * @param ore The ore.
+     * @param candidates The candidates of [ore] from [simulate].
+     * @param getBlockState Gets the block state at a packed position.
+     * @param getHeight Gets the height of the motion blocking heightmap at a column.
+     * @param canGenerate Whether the given ore can generate at the given block position, as given to [simulate].
+     * @return The packed positions of the candidates that passed.
+     */
+    fun validate(
+        seed: Long,
+        chunkX: Int,
+        chunkZ: Int,
+        ore: Ore,
+        candidates: OreCandidates,
+        getBlockState: (Long) -> BlockState,
+        getHeight: (x: Int, z: Int) -> Int,
+        canGenerate: (ore: Ore, x: Int, y: Int, z: Int) -> Boolean,
+    ): LongArray {
+        val exact = if (matchesWorld(ore, candidates, getBlockState, getHeight)) {
+            candidates
+        } else {
+            replay(seed, chunkX, chunkZ, ore, getBlockState, getHeight, canGenerate)
+        }
+        val valid = LongArrayList(exact.size)
+        for (i in 0 until exact.size) {
+            val packed = exact.positions[i]
+            if (!getBlockState(packed).canOcclude()) continue
+            if (exact.needsAirCheck(i) && isExposedToAir(getBlockState, packed)) continue
+            valid.add(packed)
+        }
+        return valid.toLongArray()
+    }
+
+    /**
+     * Whether the world agrees with the assumptions the seed stage made for [candidates]: every normal vein reaches
+     * the surface check, and, if [ore] rolls the discard chance, every candidate is replaceable.
+     */
+    private fun matchesWorld(
+        ore: Ore,
+        candidates: OreCandidates,
+        getBlockState: (Long) -> BlockState,
+        getHeight: (x: Int, z: Int) -> Int,
+    ): Boolean {
+        for (origin in candidates.veins) {
+            if (!reachesVein(BlockPos.getX(origin), BlockPos.getY(origin), BlockPos.getZ(origin), ore.size, getHeight))
+                return false
+        }
+        if (ore.discardOnAirChance == 0f || ore.discardOnAirChance == 1f) return true
+        for (packed in candidates.positions) {
+            if (!getBlockState(packed).canOcclude()) return false
+        }
+        return true
+    }
+
+    /**
+     * Simulates [ore] in the chunk at ([chunkX], [chunkZ]) against the world, consuming the random exactly like vanilla
+     * did when it generated the chunk.
+     */
+    private fun replay(
+        seed: Long,
+        chunkX: Int,
+        chunkZ: Int,
+        ore: Ore,
+        getBlockState: (Long) -> BlockState,
+        getHeight: (x: Int, z: Int) -> Int,
+        canGenerate: (ore: Ore, x: Int, y: Int, z: Int) -> Boolean,
+    ): OreCandidates {
+        val random = WorldgenRandom(WorldgenRandom.Algorithm.XOROSHIRO.newInstance(0))
+        val populationSeed = random.setDecorationSeed(seed, chunkX shl 4, chunkZ shl 4)
+        val positions = LongArrayList()
+        val airChecks = BitSet()
+        val veins = LongArrayList()
+        simulateOre(
+            random, populationSeed, chunkX, chunkZ, ore, canGenerate, VeinRasterizer(), positions, airChecks, veins,
+            { getBlockState(it).canOcclude() }, getHeight
+        )
+        return OreCandidates(positions.toLongArray(), airChecks.toLongArray(), veins.toLongArray())
+    }
+
+    /**
+     * Simulates a single ore of a chunk into [positions], [airChecks] and [veins]. Without [canReplace] and [getHeight]
+     * this is the seed stage, with them the veins are checked against the world like vanilla does.
+     */
+    private fun simulateOre(
+        random: WorldgenRandom,
+        populationSeed: Long,
+        chunkX: Int,
+        chunkZ: Int,
+        ore: Ore,
+        canGenerate: (ore: Ore, x: Int, y: Int, z: Int) -> Boolean,
+        rasterizer: VeinRasterizer,
+        positions: LongArrayList,
+        airChecks: BitSet,
+        veins: LongArrayList,
+        canReplace: ((Long) -> Boolean)?,
+        getHeight: ((x: Int, z: Int) -> Int)?,
+    ) {
+        val minX = chunkX shl 4
+        val minZ = chunkZ shl 4
+        random.setFeatureSeed(populationSeed, ore.index, ore.step)
+        val repeat = ore.count.sample(random)
+        for (attempt in 0 until repeat) {
+            if (ore.rarity != 1F && random.nextFloat() >= 1 / ore.rarity)
+                continue
+            val x = random.nextInt(16) + minX
+            val z = random.nextInt(16) + minZ
+            val y = ore.heightProvider!!.sample(random, ore.heightContext)
+            if (!canGenerate(ore, x, y, z))
+                continue
+            if (ore.isScattered) {
+                generateHidden(random, x, y, z, ore.size, positions)
+            } else {
+                veins.add(BlockPos.asLong(x, y, z))
+                generateNormal(
+                    rasterizer, random, x, y, z, ore.size, ore.discardOnAirChance, positions, airChecks, canReplace,
+                    getHeight
+                )
+            }
+        }
+    }
+
+    /**
+     * Whether any neighbor of the block at [packed] is not a solid render block.
+     */
+    private fun isExposedToAir(getBlockState: (Long) -> BlockState, packed: Long): Boolean {
+        for (direction in DIRECTIONS) {
+            if (!getBlockState(BlockPos.offset(packed, direction)).isSolidRender) return true
+        }
+        return false
+    }
+
+    /**
+     * Whether a column of the box of a normal vein at the given origin has its surface at or above the bottom of the
+     * box. Vanilla only places the vein, and consumes the random for it, if one does.
+     */
+    private fun reachesVein(
+        originX: Int,
+        originY: Int,
+        originZ: Int,
+        veinSize: Int,
+        getHeight: (x: Int, z: Int) -> Int,
+    ): Boolean {
+        val g = veinSize.toFloat() / 8.0f
+        val i = Mth.ceil((veinSize.toFloat() / 16.0f * 2.0f + 1.0f) / 2.0f)
+        val n = originX - Mth.ceil(g) - i
+        val o = originY - 2 - i
+        val p = originZ - Mth.ceil(g) - i
+        val q = 2 * (Mth.ceil(g) + i)
+        for (s in n..n + q) {
+            for (t in p..p + q) {
+                if (o <= getHeight(s, t)) return true
+            }
+        }
+        return false
+    }
+
+    private fun generateNormal(
+        rasterizer: VeinRasterizer,
+        random: WorldgenRandom,
+        originX: Int,
+        originY: Int,
+        originZ: Int,
+        veinSize: Int,
+        discardOnAir: Float,
+        positions: LongArrayList,
+        airChecks: BitSet,
+        canReplace: ((Long) -> Boolean)?,
+        getHeight: ((x: Int, z: Int) -> Int)?,
+    ) {
+        val f = random.nextFloat() * Mth.PI
+        val g = veinSize.toFloat() / 8.0f
+        val i = Mth.ceil((veinSize.toFloat() / 16.0f * 2.0f + 1.0f) / 2.0f)
+        val d = originX.toDouble() + sin(f.toDouble()) * g.toDouble()
+        val e = originX.toDouble() - sin(f.toDouble()) * g.toDouble()
+        val h = originZ.toDouble() + cos(f.toDouble()) * g.toDouble()
+        val j = originZ.toDouble() - cos(f.toDouble()) * g.toDouble()
+        val l = (originY + random.nextInt(3) - 2).toDouble()
+        val m = (originY + random.nextInt(3) - 2).toDouble()
+        val n = originX - Mth.ceil(g) - i
+        val o = originY - 2 - i
+        val p = originZ - Mth.ceil(g) - i
+        val q = 2 * (Mth.ceil(g) + i)
+        val r = 2 * (2 + i)
+        if (getHeight != null && !reachesVein(originX, originY, originZ, veinSize, getHeight)) return
+        rasterizer.rasterize(
+            random, veinSize, d, e, h, j, l, m, n, o, p, q, r, discardOnAir, positions, airChecks, canReplace
+        )
+    }
+
+    private fun generateHidden(
+        random: WorldgenRandom,
+        originX: Int,
+        originY: Int,
+        originZ: Int,
+        size: Int,
+        positions: LongArrayList,
+    ) {
+        val i = random.nextInt(size + 1)
+
+        for (j in 0..<i) {
+            val spread = min(j, 7)
+            val x = randomCoord(random, spread) + originX
+            val y = randomCoord(random, spread) + originY
+            val z = randomCoord(random, spread) + originZ
+            positions.add(BlockPos.asLong(x, y, z))
+        }
+    }
+
+    private fun randomCoord(random: WorldgenRandom, size: Int): Int {
+        return ((random.nextFloat() - random.nextFloat()) * size.toFloat()).roundToInt()
+    }
+}
+
+/**
+ * The candidate positions of a single ore in a chunk, as produced by [OreSimulator.simulate].
+ *
+ * @param positions The packed ([BlockPos.asLong]) candidate positions.
+ * @param airChecks A bitset, one bit per candidate, of the candidates that are only placed if they are not exposed to
+ * air.
+ * @param veins The packed origins of the normal veins, in generation order, so [OreSimulator.validate] can check that
+ * vanilla placed each of them.
+ */
+class OreCandidates(val positions: LongArray, val airChecks: LongArray, val veins: LongArray) {
+    /**
+     * The number of candidates.
+     */
+    val size: Int
+        get() = positions.size
+
+    /**
+     * Whether the candidate at [index] is only placed if it is not exposed to air.
+     */
+    fun needsAirCheck(index: Int): Boolean {
+        val word = index ushr 6
+        return word < airChecks.size && airChecks[word] and (1L shl index) != 0L
+    }
+}
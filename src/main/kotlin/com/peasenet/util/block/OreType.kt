@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.block
+
+import com.peasenet.config.esp.OreEspConfig
+import com.peasenet.gavui.color.Color
+
+/**
+ * The kinds of ores shown by ore ESP. An [Ore] only knows its type, and whether it is shown and in which color is read
+ * from the [OreEspConfig] through its type, so changing either never requires rebuilding the ore registry.
+ *
+ * @param enabled Gets whether ores of this type are shown.
+ * @param color Gets the color of ores of this type.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+enum class OreType(
+    private val enabled: (OreEspConfig) -> Boolean,
+    private val color: (OreEspConfig) -> Color,
+) {
+    COAL({ it.coalEnabled }, { it.coalColor }),
+    IRON({ it.ironEnabled }, { it.ironColor }),
+    GOLD({ it.goldEnabled }, { it.goldColor }),
+    REDSTONE({ it.redstoneEnabled }, { it.redstoneColor }),
+    DIAMOND({ it.diamondEnabled }, { it.diamondColor }),
+    LAPIS({ it.lapisEnabled }, { it.lapisColor }),
+    COPPER({ it.copperEnabled }, { it.copperColor }),
+    EMERALD({ it.emeraldEnabled }, { it.emeraldColor }),
+    QUARTZ({ it.quartzEnabled }, { it.quartzColor }),
+    DEBRIS({ it.debrisEnabled }, { it.debrisColor });
+
+    /**
+     * Gets whether ores of this type are shown with the given [config].
+     */
+    fun isEnabled(config: OreEspConfig): Boolean = enabled(config)
+
+    /**
+     * Gets the color of ores of this type with the given [config].
+     */
+    fun getColor(config: OreEspConfig): Color = color(config)
+}
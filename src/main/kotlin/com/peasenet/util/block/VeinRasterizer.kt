@@ -0,0 +1,181 @@
+package com.peasenet.util.block
+
+import it.unimi.dsi.fastutil.longs.LongArrayList
+import net.minecraft.core.BlockPos
+import net.minecraft.util.Mth
+import net.minecraft.world.level.levelgen.WorldgenRandom
+import java.util.*
+
+/**
+ * Rasterizes the blobs of a normal ore vein into block positions, the same way vanilla ore features do.
+ *
+ * All buffers are flat primitive arrays that are kept between veins, so rasterizing does not allocate once the
+ * buffers have grown to the largest vein seen. An instance is not thread safe, [OreSimulator] uses one per simulated
+ * chunk.
+ *
+ * This has been modified from NoraTweaks, based off of Meteor Rejects
+ * Source: https://github.com/noramibu/Nora-Tweaks, https://github.com/AntiCope/meteor-rejects/
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class VeinRasterizer {
+
+    /**
+     * The centers and radii of the blobs of the current vein. A negative radius marks a blob that is contained by
+     * another one.
+     */
+    private var centerX = DoubleArray(0)
+    private var centerY = DoubleArray(0)
+    private var centerZ = DoubleArray(0)
+    private var radius = DoubleArray(0)
+
+    /**
+     * One bit per block of the bounding box of the current vein, set once the block has been placed.
+     */
+    private var placed = LongArray(0)
+
+    /**
+     * The number of words of [placed] the last vein may have written to.
+     */
+    private var placedWords = 0
+
+    /**
+     * Rasterizes a vein of [veinSize] blobs along the line from ([startX], [startY], [startZ]) to
+     * ([endX], [endY], [endZ]), inside the box starting at ([minX], [minY], [minZ]) of size [sizeX] * [sizeY] * [sizeX].
+     *
+     * Every new block is appended to [positions], and, if it rolled the air exposure discard chance, its index is set
+     * in [airChecks]. Vanilla only rolls the discard chance for blocks its target rule matches, so [canReplace] tells
+     * which blocks can be replaced by ore, or is null in the seed stage, where every block is assumed to be
+     * replaceable. With it, the random is consumed exactly like vanilla does.
+     */
+    fun rasterize(
+        random: WorldgenRandom,
+        veinSize: Int,
+        startX: Double,
+        endX: Double,
+        startZ: Double,
+        endZ: Double,
+        startY: Double,
+        endY: Double,
+        minX: Int,
+        minY: Int,
+        minZ: Int,
+        sizeX: Int,
+        sizeY: Int,
+        discardOnAir: Float,
+        positions: LongArrayList,
+        airChecks: BitSet,
+        canReplace: ((Long) -> Boolean)?,
+    ) {
+        ensureCapacity(veinSize, sizeX * sizeY * sizeX)
+        val centerX = centerX
+        val centerY = centerY
+        val centerZ = centerZ
+        val radius = radius
+        var placed = placed
+
+        for (i in 0..<veinSize) {
+            val progress = i.toFloat() / veinSize.toFloat()
+            centerX[i] = Mth.lerp(progress.toDouble(), startX, endX)
+            centerY[i] = Mth.lerp(progress.toDouble(), startY, endY)
+            centerZ[i] = Mth.lerp(progress.toDouble(), startZ, endZ)
+            val scale: Double = random.nextDouble() * veinSize / 16.0
+            radius[i] = ((Mth.sin(Math.PI.toFloat() * progress.toDouble()) + 1.0f) * scale + 1.0) / 2.0
+        }
+
+        for (i in 0..<veinSize - 1) {
+            if (radius[i] <= 0.0) continue
+            for (j in i + 1..<veinSize) {
+                if (radius[j] <= 0.0) continue
+                val dx = centerX[i] - centerX[j]
+                val dy = centerY[i] - centerY[j]
+                val dz = centerZ[i] - centerZ[j]
+                val dr = radius[i] - radius[j]
+                if (dr * dr > dx * dx + dy * dy + dz * dz) {
+                    if (dr > 0.0) radius[j] = -1.0
+                    else radius[i] = -1.0
+                }
+            }
+        }
+
+        val strideZ = sizeX * sizeY
+        for (i in 0..<veinSize) {
+            val r = radius[i]
+            if (r < 0.0) continue
+            val cx = centerX[i]
+            val cy = centerY[i]
+            val cz = centerZ[i]
+            val minBlockX = Mth.floor(cx - r).coerceAtLeast(minX)
+            val minBlockY = Mth.floor(cy - r).coerceAtLeast(minY)
+            val minBlockZ = Mth.floor(cz - r).coerceAtLeast(minZ)
+            val maxBlockX = Mth.floor(cx + r).coerceAtLeast(minBlockX)
+            val maxBlockY = Mth.floor(cy + r).coerceAtLeast(minBlockY)
+            val maxBlockZ = Mth.floor(cz + r).coerceAtLeast(minBlockZ)
+
+            for (x in minBlockX..maxBlockX) {
+                val normX = (x.toDouble() + 0.5 - cx) / r
+                val distX = normX * normX
+                if (distX >= 1.0) continue
+                val indexX = x - minX
+                for (y in minBlockY..maxBlockY) {
+                    val normY = (y.toDouble() + 0.5 - cy) / r
+                    val distXY = distX + normY * normY
+                    if (distXY >= 1.0) continue
+                    val indexXY = indexX + (y - minY) * sizeX
+                    val inWorld = y >= -64 && y < 320
+                    for (z in minBlockZ..maxBlockZ) {
+                        val normZ = (z.toDouble() + 0.5 - cz) / r
+                        if (distXY + normZ * normZ >= 1.0) continue
+                        val index = indexXY + (z - minZ) * strideZ
+                        val word = index ushr 6
+                        if (word >= placed.size) {
+                            // a blob can reach past the box, vanilla's BitSet grows in that case too
+                            placed = placed.copyOf(word + 1)
+                            this.placed = placed
+                            placedWords = word + 1
+                        }
+                        val bit = 1L shl index
+                        if (placed[word] and bit != 0L) continue
+                        placed[word] = placed[word] or bit
+                        if (!inWorld) continue
+                        val packed = BlockPos.asLong(x, y, z)
+                        if (canReplace != null && !canReplace(packed)) continue
+                        if (needsAirCheck(discardOnAir, random)) {
+                            airChecks.set(positions.size)
+                        }
+                        positions.add(packed)
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Grows the buffers to hold [veinSize] blobs and a bounding box of [volume] blocks, and clears the placed bits.
+     */
+    private fun ensureCapacity(veinSize: Int, volume: Int) {
+        if (radius.size < veinSize) {
+            centerX = DoubleArray(veinSize)
+            centerY = DoubleArray(veinSize)
+            centerZ = DoubleArray(veinSize)
+            radius = DoubleArray(veinSize)
+        }
+        Arrays.fill(placed, 0, placedWords, 0L)
+        placedWords = (volume + 63) ushr 6
+        if (placed.size < placedWords) {
+            placed = LongArray(placedWords)
+        }
+    }
+
+    /**
+     * Rolls the air exposure discard chance of a single ore block.
+     * @return Whether the block is only placed if it is not exposed to air.
+     */
+    private fun needsAirCheck(discardOnAir: Float, random: WorldgenRandom): Boolean {
+        if (discardOnAir == 0f || discardOnAir == 1f) {
+            return false
+        }
+        return random.nextFloat() < discardOnAir
+    }
+}
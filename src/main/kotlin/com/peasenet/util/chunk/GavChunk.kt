@@ -21,43 +21,88 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 package com.peasenet.util.chunk
 
 import com.peasenet.gavui.color.Color
 import com.peasenet.main.GavinsModClient
 import com.peasenet.util.RenderUtils
+import com.peasenet.util.block.Edge
 import com.peasenet.util.block.GavBlock
+import com.peasenet.util.math.ViewFrustum
 import com.mojang.blaze3d.vertex.PoseStack
 import com.mojang.blaze3d.vertex.VertexConsumer
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap
 import net.minecraft.core.BlockPos
+import net.minecraft.core.Direction
+import net.minecraft.core.SectionPos
 import net.minecraft.world.level.ChunkPos
+import net.minecraft.world.level.block.state.BlockState
 import net.minecraft.world.level.levelgen.Heightmap
 import net.minecraft.world.level.chunk.ChunkAccess
-import org.joml.Matrix3x2fStack
+import net.minecraft.world.level.chunk.LevelChunkSection
 import kotlin.math.abs
 import kotlin.math.sqrt
 
 /**
- * A GavChunk is a chunk that contains a list of GavBlocks used for
- * block ESP or tracers.
+ * A GavChunk is a chunk that contains the blocks used for block ESP or tracers.
+ *
+ * Blocks are not kept as [GavBlock] objects. Each 16x16x16 section that has blocks is stored as a [GavSection], an
+ * occupancy bitset with one packed short per block, and the visibility filter and color of the blocks are shared
+ * through a small palette of styles. [GavBlock]s are only created on demand, see [getBlock].
  *
  * @param chunkPos The position of the chunk.
  * @since 09-12-2024
- * @version 01-25-2025
+ * @version 10-18-2026
  * @author GT3CH1
  */
 class GavChunk(val chunkPos: ChunkPos) {
 
     /**
-     * A map of GavBlocks in the chunk.
+     * The sections of the chunk that have blocks, keyed by section y.
+     */
+    private val sections = Int2ObjectOpenHashMap<GavSection>()
+
+    /**
+     * The palette of visibility filters and colors used by the blocks of this chunk.
+     */
+    private val styles = ArrayList<Style>()
+
+    /**
+     * The number of blocks in the chunk.
+     */
+    @Volatile
+    private var blockCount = 0
+
+    /**
+     * A reusable position to call the visibility filters with. Only used while holding the chunk lock.
+     */
+    private val filterPos = BlockPos.MutableBlockPos()
+
+    /**
+     * A snapshot of the visible blocks, so that [render] does not have to lock. Bulk changes republish it right away,
+     * single block changes only mark it [dirty].
+     */
+    @Volatile
+    private var snapshot = Snapshot.EMPTY
+
+    /**
+     * Whether blocks changed since [snapshot] was published. Publishing walks every block of the chunk, so single block
+     * changes only set this and [render] publishes once per frame, however many blocks changed.
      */
-    private val blocks: HashMap<Long, GavBlock> = HashMap()
+    @Volatile
+    private var dirty = false
 
-    private val visibleBlocks = HashMap<Long, GavBlock>()
+    /**
+     * The baked lines of [snapshot]. Only touched by the render thread, and re-baked whenever a new snapshot has
+     * been published or the render settings change.
+     */
+    private var mesh: GavChunkMesh? = null
 
-    val key: Int
-        get() = chunkPos.hashCode()
+    /**
+     * The key of the chunk in a [GavChunkStore], the packed [ChunkPos].
+     */
+    val key: Long
+        get() = chunkPos.toLong()
 
     /**
      * Adds a block to the chunk.
@@ -65,78 +110,334 @@ class GavChunk(val chunkPos: ChunkPos) {
      * @param pos The position of the block.
      */
     fun addBlock(pos: BlockPos, visibleFilter: (BlockPos) -> Boolean) {
-        val block = GavBlock(pos.x, pos.y, pos.z, visibleFilter)
-        addBlock(block)
+        synchronized(this) {
+            putBlock(pos.x, pos.y, pos.z, styleOf(visibleFilter, null))
+            dirty = true
+        }
     }
 
     fun addBlock(block: GavBlock) {
         synchronized(this) {
-            blocks[block.pos.asLong()] = block
-            block.update()
-            if (block.isVisible()) {
-                visibleBlocks[block.pos.asLong()] = (block)
+            putBlock(block.x, block.y, block.z, styleOf(block.visibleFilter, block.color))
+            dirty = true
+        }
+    }
+
+    /**
+     * Adds many blocks that share a visibility filter and color, publishing them to the renderer once.
+     *
+     * @param positions The packed ([BlockPos.asLong]) positions of the blocks.
+     * @param visibleFilter The visibility filter of the blocks.
+     * @param color The color of the blocks, or null for the default color.
+     * @param layer The layer of the blocks, which [render] can hide or recolor as a whole, below
+     * [GavChunkMesh.MAX_LAYERS].
+     */
+    fun addBlocks(positions: LongArray, visibleFilter: (BlockPos) -> Boolean, color: Color?, layer: Int = 0) {
+        if (positions.isEmpty()) return
+        require(layer in 0 until GavChunkMesh.MAX_LAYERS) { "Invalid layer $layer" }
+        synchronized(this) {
+            val style = styleOf(visibleFilter, color, layer)
+            for (position in positions) {
+                putBlock(BlockPos.getX(position), BlockPos.getY(position), BlockPos.getZ(position), style)
+            }
+            publish()
+        }
+    }
+
+    /**
+     * Adds many blocks whose states have already been evaluated in bulk, see [NeighborMaskEvaluator], publishing them
+     * to the renderer once. [visibleFilter] is not called for these blocks, it is only kept for later updates.
+     *
+     * @param positions The packed ([BlockPos.asLong]) positions of the blocks.
+     * @param states The state of each block, from [NeighborMaskEvaluator.evaluate].
+     * @param visibleFilter The visibility filter of the blocks.
+     * @param color The color of the blocks, or null for the default color.
+     * @param layer The layer of the blocks, see [addBlocks].
+     */
+    fun addEvaluatedBlocks(
+        positions: LongArray,
+        states: IntArray,
+        visibleFilter: (BlockPos) -> Boolean,
+        color: Color?,
+        layer: Int = 0,
+    ) {
+        if (positions.isEmpty()) return
+        require(layer in 0 until GavChunkMesh.MAX_LAYERS) { "Invalid layer $layer" }
+        synchronized(this) {
+            val style = styleOf(visibleFilter, color, layer)
+            for (i in positions.indices) {
+                val position = positions[i]
+                val state = states[i]
+                putState(
+                    BlockPos.getX(position), BlockPos.getY(position), BlockPos.getZ(position),
+                    GavSection.state(GavSection.neighbors(state), GavSection.isPresent(state), style)
+                )
+            }
+            publish()
+        }
+    }
+
+    /**
+     * Gets the block at the given [pos] as a new [GavBlock], with the visibility filter and color it was added with.
+     *
+     * @param pos The position of the block.
+     * @return The block, or null if there is no block at [pos].
+     */
+    fun getBlock(pos: BlockPos): GavBlock? {
+        synchronized(this) {
+            val section = sections.get(SectionPos.blockToSectionCoord(pos.y)) ?: return null
+            val index = GavSection.index(pos.x, pos.y, pos.z)
+            if (index !in section) return null
+            val style = styles[GavSection.style(section[index])]
+            return GavBlock(pos.x, pos.y, pos.z, style.visibleFilter, style.color)
+        }
+    }
+
+    /**
+     * Adds a block to the chunk without publishing it to the renderer, used while building a chunk in [search].
+     */
+    private fun putBlock(x: Int, y: Int, z: Int, style: Int) {
+        putState(x, y, z, evaluate(x, y, z, style))
+    }
+
+    /**
+     * Sets the packed state of the block at the given position, adding the block if it is new.
+     */
+    private fun putState(x: Int, y: Int, z: Int, state: Int) {
+        val sectionY = SectionPos.blockToSectionCoord(y)
+        var section = sections.get(sectionY)
+        if (section == null) {
+            section = GavSection()
+            sections.put(sectionY, section)
+        }
+        val index = GavSection.index(x, y, z)
+        if (index !in section) blockCount++
+        section[index] = state
+    }
+
+    /**
+     * Evaluates the visibility filter of [style] on the block at the given position and all six of its neighbors.
+     *
+     * @return The packed state of the block.
+     */
+    private fun evaluate(x: Int, y: Int, z: Int, style: Int): Int {
+        val filter = styles[style].visibleFilter
+        val present = filter(filterPos.set(x, y, z))
+        var neighbors = 0
+        for (direction in DIRECTIONS) {
+            if (filter(filterPos.set(x + direction.stepX, y + direction.stepY, z + direction.stepZ))) {
+                neighbors = neighbors or (1 shl direction.ordinal)
+            }
+        }
+        return GavSection.state(neighbors, present, style)
+    }
+
+    /**
+     * Gets the palette index of the given style, adding it if it is new.
+     */
+    private fun styleOf(visibleFilter: (BlockPos) -> Boolean, color: Color?, layer: Int = 0): Int {
+        for (i in styles.indices) {
+            val style = styles[i]
+            if (style.visibleFilter === visibleFilter && style.color == color && style.layer == layer) return i
+        }
+        if (styles.size == GavSection.MAX_STYLES) compactStyles()
+        check(styles.size < GavSection.MAX_STYLES) { "Too many block styles in chunk $chunkPos" }
+        styles.add(Style(visibleFilter, color, layer))
+        return styles.size - 1
+    }
+
+    /**
+     * Drops the styles no block refers to anymore, and renumbers the rest.
+     */
+    private fun compactStyles() {
+        val remap = IntArray(styles.size) { -1 }
+        forEachBlock { section, index, _ ->
+            remap[GavSection.style(section[index])] = 0
+        }
+        val kept = ArrayList<Style>()
+        for (i in styles.indices) {
+            if (remap[i] == -1) continue
+            remap[i] = kept.size
+            kept.add(styles[i])
+        }
+        forEachBlock { section, index, _ ->
+            val state = section[index]
+            section[index] = GavSection.state(
+                GavSection.neighbors(state), GavSection.isPresent(state), remap[GavSection.style(state)]
+            )
+        }
+        styles.clear()
+        styles.addAll(kept)
+    }
+
+    /**
+     * Calls [action] for every block in the chunk with its section, index and section y. Must be called while holding
+     * the chunk lock.
+     */
+    private inline fun forEachBlock(action: (section: GavSection, index: Int, sectionY: Int) -> Unit) {
+        for (entry in sections.int2ObjectEntrySet()) {
+            val section = entry.value
+            var index = section.nextIndex(0)
+            while (index >= 0) {
+                action(section, index, entry.intKey)
+                index = section.nextIndex(index + 1)
             }
         }
     }
 
+    /**
+     * Updates the given [block], which has changed, and the single edge each of its six neighbors in this chunk shares
+     * with it. Neighbors in other chunks are updated with [updateNeighborsOf].
+     *
+     * @param block The block that changed.
+     */
     fun updateBlockNeighbors(block: GavBlock) {
-        setOf(
-            block.pos,
-            block.pos.above(),
-            block.pos.below(),
-            block.pos.north(),
-            block.pos.south(),
-            block.pos.east(),
-            block.pos.west(),
-        ).forEach {
-            updateBlock(it)
+        synchronized(this) {
+            val section = sections.get(SectionPos.blockToSectionCoord(block.y))
+            val index = GavSection.index(block.x, block.y, block.z)
+            if (section != null && index in section) {
+                section[index] = evaluate(block.x, block.y, block.z, GavSection.style(section[index]))
+            }
+            updateNeighbors(block.x, block.y, block.z)
+            dirty = true
+        }
+    }
+
+    /**
+     * Updates the blocks of this chunk that neighbor the changed position [key] in another chunk.
+     *
+     * @param key The packed position that changed.
+     */
+    fun updateNeighborsOf(key: Long) {
+        synchronized(this) {
+            if (updateNeighbors(BlockPos.getX(key), BlockPos.getY(key), BlockPos.getZ(key))) dirty = true
+        }
+    }
+
+    /**
+     * Updates the blocks on the side of this chunk facing [direction], for when the chunk on that side has been
+     * (re)loaded. Only the neighbor bit facing that chunk is re-evaluated.
+     *
+     * @param direction The horizontal direction of the loaded chunk, as seen from this chunk.
+     */
+    fun updateBorder(direction: Direction) {
+        synchronized(this) {
+            val border = when (direction) {
+                Direction.EAST, Direction.SOUTH -> 15
+                else -> 0
+            }
+            var changed = false
+            forEachBlock { section, index, sectionY ->
+                val local = if (direction.axis == Direction.Axis.X) GavSection.localX(index) else GavSection.localZ(index)
+                if (local == border) {
+                    updateNeighbor(section, index, sectionY, direction)
+                    changed = true
+                }
+            }
+            if (changed) dirty = true
         }
     }
 
     fun removeBlock(block: GavBlock) {
         synchronized(this) {
-            blocks.remove(block.pos.asLong())
-            visibleBlocks.remove(block.pos.asLong())
-            updateBlockNeighbors(block)
-//            updateBlocks()
+            val sectionY = SectionPos.blockToSectionCoord(block.y)
+            val section = sections.get(sectionY) ?: return
+            if (section.remove(GavSection.index(block.x, block.y, block.z))) {
+                blockCount--
+                if (section.isEmpty()) sections.remove(sectionY)
+                dirty = true
+            }
         }
     }
 
     fun clear() {
         synchronized(this) {
-            blocks.clear()
-            visibleBlocks.clear()
+            sections.clear()
+            styles.clear()
+            blockCount = 0
+            publish()
+        }
+    }
+
+    /**
+     * Re-evaluates the neighbor bit facing the position of every block of this chunk next to the given position. Must
+     * be called while holding the chunk lock.
+     *
+     * @return Whether any block was updated.
+     */
+    private fun updateNeighbors(x: Int, y: Int, z: Int): Boolean {
+        var changed = false
+        for (direction in DIRECTIONS) {
+            val neighborX = x + direction.stepX
+            val neighborY = y + direction.stepY
+            val neighborZ = z + direction.stepZ
+            if (SectionPos.blockToSectionCoord(neighborX) != chunkPos.x) continue
+            if (SectionPos.blockToSectionCoord(neighborZ) != chunkPos.z) continue
+            val sectionY = SectionPos.blockToSectionCoord(neighborY)
+            val section = sections.get(sectionY) ?: continue
+            val index = GavSection.index(neighborX, neighborY, neighborZ)
+            if (index !in section) continue
+            updateNeighbor(section, index, sectionY, direction.opposite)
+            changed = true
         }
+        return changed
     }
 
-    private fun updateBlock(blockPos: BlockPos) {
-        val gavBlock = GavBlock(blockPos.x, blockPos.y, blockPos.z)
-        synchronized(this) { updateBlock(gavBlock) }
+    /**
+     * Re-evaluates the single neighbor bit in the given [direction] of the block at [index].
+     */
+    private fun updateNeighbor(section: GavSection, index: Int, sectionY: Int, direction: Direction) {
+        val state = section[index]
+        val style = GavSection.style(state)
+        val x = chunkPos.minBlockX + GavSection.localX(index) + direction.stepX
+        val y = SectionPos.sectionToBlockCoord(sectionY) + GavSection.localY(index) + direction.stepY
+        val z = chunkPos.minBlockZ + GavSection.localZ(index) + direction.stepZ
+        val bit = 1 shl direction.ordinal
+        var neighbors = GavSection.neighbors(state)
+        neighbors = if (styles[style].visibleFilter(filterPos.set(x, y, z))) neighbors or bit else neighbors and bit.inv()
+        section[index] = GavSection.state(neighbors, GavSection.isPresent(state), style)
     }
 
-    private fun updateBlock(block: GavBlock) {
-        val key = block.pos.asLong()
-        val gavBlock = blocks[key] ?: return
-        gavBlock.update()
-        if (gavBlock.isVisible()) {
-            visibleBlocks[gavBlock.pos.asLong()] = gavBlock
-        } else {
-            visibleBlocks.remove(gavBlock.pos.asLong())
+    /**
+     * Publishes a new snapshot of the visible blocks for [render]. Must be called while holding the chunk lock.
+     */
+    private fun publish() {
+        var visible = 0
+        forEachBlock { section, index, _ ->
+            if (isVisible(section[index])) visible++
+        }
+        val blocks = LongArray(visible)
+        var i = 0
+        forEachBlock { section, index, sectionY ->
+            val state = section[index]
+            if (isVisible(state)) {
+                blocks[i++] = GavSection.packVisible(
+                    index, SectionPos.sectionToBlockCoord(sectionY) + GavSection.localY(index), state
+                )
+            }
         }
+        snapshot = Snapshot(blocks, Array(styles.size) { styles[it].color }, IntArray(styles.size) { styles[it].layer })
+        dirty = false
     }
 
     val hasBlocks: Boolean
-        get() = blocks.isNotEmpty()
+        get() = blockCount > 0
 
     /**
-     * Updates the blocks in the chunk.
+     * Updates every block in the chunk from scratch. Prefer [updateBlockNeighbors], [updateNeighborsOf] and
+     * [updateBorder], which only touch the blocks next to a change.
      */
     fun updateBlocks() {
         synchronized(this) {
-            visibleBlocks.clear()
-            blocks.values.forEach { block ->
-                updateBlock(block)
+            forEachBlock { section, index, sectionY ->
+                section[index] = evaluate(
+                    chunkPos.minBlockX + GavSection.localX(index),
+                    SectionPos.sectionToBlockCoord(sectionY) + GavSection.localY(index),
+                    chunkPos.minBlockZ + GavSection.localZ(index),
+                    GavSection.style(section[index])
+                )
             }
+            publish()
         }
     }
 
@@ -146,35 +447,24 @@ class GavChunk(val chunkPos: ChunkPos) {
      * @return True if the chunk is in the render distance, false otherwise.
      */
     fun inRenderDistance(renderDistance: Int = RenderUtils.getRenderDistance()): Boolean {
-        val currentDistance = this.getRenderDistance()
-        val res = currentDistance <= renderDistance
-        return res
-    }
-
-    /**
-     * Gets the render distance of the chunk.
-     *
-     * @return The render distance of the chunk.
-     */
-    private fun getRenderDistance(): Double {
-        // get the distance from the player to the chunk
-        val playerPos = GavinsModClient.minecraftClient.getPlayer().blockPosition()
-        val chunkPos = this.chunkPos
-        val x = abs(playerPos.x - chunkPos.x.times(16))
-        val z = abs(playerPos.z - chunkPos.z.times(16))
-        return sqrt((x * x + z * z).toDouble()).div(16f)
+        return inRenderDistance(chunkPos, renderDistance)
     }
 
     /**
-     * Renders the blocks in the chunk.
+     * Renders the blocks in the chunk. The block outlines are drawn from a [GavChunkMesh] that is only re-baked when
+     * the blocks or the given settings change, skipping the sections outside [frustum] or beyond [maxDistance].
      *
      * @param matrixStack The matrix stack.
-     * @param bufferBuilder The buffer builder.
-     * @param blockColor The color of the block.q
+     * @param blockColor The color of the block.
      * @param partialTicks The partial ticks.
      * @param alpha The alpha of the block.
      * @param structureEsp True if structure ESP is enabled, false otherwise.
      * @param blockTracer True if block tracers are enabled, false otherwise.
+     * @param buffer The buffer to draw the outlines into.
+     * @param frustum The frustum to cull the outlines with, or null to not cull.
+     * @param maxDistance The maximum distance from the camera to draw outlines at, in blocks.
+     * @param layerMask The layers to draw, one bit per layer, see [addBlocks].
+     * @param layerColors The ARGB color to draw each layer with, or null to use the colors of the blocks.
      */
     fun render(
         matrixStack: PoseStack, blockColor: Color,
@@ -182,18 +472,93 @@ class GavChunk(val chunkPos: ChunkPos) {
         alpha: Float,
         structureEsp: Boolean = false, blockTracer: Boolean = false,
         buffer: VertexConsumer,
+        frustum: ViewFrustum? = null,
+        maxDistance: Float = Float.POSITIVE_INFINITY,
+        layerMask: Long = GavChunkMesh.ALL_LAYERS,
+        layerColors: IntArray? = null,
         ) {
-        synchronized(this) {
-            visibleBlocks.values.forEach { block ->
-                block.render(
-                    matrixStack, blockColor, partialTicks, alpha, structureEsp, blockTracer, buffer
+        if (dirty) {
+            synchronized(this) {
+                if (dirty) publish()
+            }
+        }
+        val snapshot = snapshot
+        if (snapshot.blocks.isEmpty()) return
+        var mesh = this.mesh
+        if (mesh == null || !mesh.matches(snapshot.blocks, blockColor, alpha, structureEsp)) {
+            mesh = GavChunkMesh.bake(
+                this, snapshot.blocks, snapshot.colors, snapshot.layers, blockColor, alpha, structureEsp
+            )
+            this.mesh = mesh
+        }
+        val camera = RenderUtils.getCameraPos()
+        mesh.render(matrixStack, camera.x, camera.y, camera.z, buffer, frustum, maxDistance, layerMask, layerColors)
+        if (blockTracer) {
+            for (packed in snapshot.blocks) {
+                val layer = snapshot.layers[GavSection.style(GavSection.visibleState(packed))]
+                if (layerMask and (1L shl layer) == 0L) continue
+                GavBlock.renderTracer(
+                    matrixStack,
+                    chunkPos.minBlockX + GavSection.visibleX(packed),
+                    GavSection.visibleY(packed),
+                    chunkPos.minBlockZ + GavSection.visibleZ(packed),
+                    blockColor,
+                    partialTicks,
+                    alpha
                 )
             }
         }
     }
 
+    /**
+     * The visibility filter, color and layer shared by blocks of this chunk.
+     */
+    private class Style(val visibleFilter: (BlockPos) -> Boolean, val color: Color?, val layer: Int)
+
+    /**
+     * The visible blocks of the chunk, packed with [GavSection.packVisible], and the color and layer of each style.
+     */
+    private class Snapshot(val blocks: LongArray, val colors: Array<Color?>, val layers: IntArray) {
+        companion object {
+            val EMPTY = Snapshot(LongArray(0), emptyArray(), IntArray(0))
+        }
+    }
 
     companion object {
+        private val DIRECTIONS = Direction.entries.toTypedArray()
+
+        /**
+         * Whether a block with the given packed state is visible: it passed its own visibility filter, and its
+         * neighbors do not hide every edge.
+         */
+        private fun isVisible(state: Int): Boolean {
+            return GavSection.isPresent(state) && GavBlock.edgesFor(GavSection.neighbors(state)) != Edge.None.mask
+        }
+
+        /**
+         * Checks if the chunk at [chunkPos] is in the render distance.
+         *
+         * @param chunkPos The position of the chunk.
+         * @param renderDistance The render distance, in chunks.
+         * @return True if the chunk is in the render distance, false otherwise.
+         */
+        fun inRenderDistance(chunkPos: ChunkPos, renderDistance: Int = RenderUtils.getRenderDistance()): Boolean {
+            return getRenderDistance(chunkPos) <= renderDistance
+        }
+
+        /**
+         * Gets the render distance of the chunk at [chunkPos].
+         *
+         * @return The render distance of the chunk.
+         */
+        private fun getRenderDistance(chunkPos: ChunkPos): Double {
+            // get the distance from the player to the chunk
+            val playerPos = GavinsModClient.minecraftClient.getPlayer().blockPosition()
+            val x = abs(playerPos.x - chunkPos.x.times(16))
+            val z = abs(playerPos.z - chunkPos.z.times(16))
+            return sqrt((x * x + z * z).toDouble()).div(16f)
+        }
+
         /**
          * Searches the given chunk for blocks that are in the block list.
          * @param chunk The Chunk to search.
@@ -203,23 +568,63 @@ class GavChunk(val chunkPos: ChunkPos) {
         fun search(
             chunk: ChunkAccess,
             filter: (BlockPos) -> Boolean,
+        ): GavChunk {
+            return search(chunk, { true }, filter)
+        }
+
+        /**
+         * Searches the given chunk section by section. Each [LevelChunkSection]'s palette is first checked with
+         * [stateFilter], and sections that cannot contain a matching state are skipped entirely. The remaining sections
+         * are read straight from their block storage, and [filter] is only called for positions whose state passed
+         * [stateFilter].
+         *
+         * @param chunk The Chunk to search.
+         * @param stateFilter A cheap, position independent filter on the [BlockState].
+         * @param filter The position filter to use, also used as the visibility filter of the found blocks.
+         * @return The GavChunk containing the blocks.
+         */
+        fun search(
+            chunk: ChunkAccess,
+            stateFilter: (BlockState) -> Boolean,
+            filter: (BlockPos) -> Boolean,
         ): GavChunk {
             val searchChunk = GavChunk(chunk.pos)
+            val style = searchChunk.styleOf(filter, null)
             val tempBlockPos = BlockPos.MutableBlockPos()
-            for (x in chunk.pos.minBlockX..chunk.pos.maxBlockX) {
-                for (z in chunk.pos.minBlockZ..chunk.pos.maxBlockZ) {
-                    val chunkHeight = GavinsModClient.minecraftClient.getWorld()
-                        .getHeightmapPos(Heightmap.Types.WORLD_SURFACE, BlockPos(x, 0, z)).y + 1
-                    for (y in GavinsModClient.minecraftClient.getWorld().minSectionY until chunkHeight) {
-                        tempBlockPos.set(x, y, z)
-                        if (filter(tempBlockPos)) {
-                            searchChunk.addBlock(tempBlockPos, filter)
+            val minX = chunk.pos.minBlockX
+            val minZ = chunk.pos.minBlockZ
+            // cache the surface height of each column, so we never scan the open sky.
+            val surface = IntArray(256)
+            var maxSurface = chunk.minY
+            for (z in 0 until 16) {
+                for (x in 0 until 16) {
+                    val height = chunk.getHeight(Heightmap.Types.WORLD_SURFACE, x, z) + 1
+                    surface[z shl 4 or x] = height
+                    if (height > maxSurface) maxSurface = height
+                }
+            }
+            val sections = chunk.sections
+            for (index in sections.indices) {
+                val section = sections[index] ?: continue
+                val minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(index))
+                if (minY >= maxSurface) break
+                if (!section.states.maybeHas { stateFilter(it) }) continue
+                for (y in 0 until 16) {
+                    val blockY = minY + y
+                    for (z in 0 until 16) {
+                        for (x in 0 until 16) {
+                            if (blockY >= surface[z shl 4 or x]) continue
+                            if (!stateFilter(section.getBlockState(x, y, z))) continue
+                            tempBlockPos.set(minX + x, blockY, minZ + z)
+                            if (filter(tempBlockPos)) {
+                                searchChunk.putBlock(minX + x, blockY, minZ + z, style)
+                            }
                         }
                     }
                 }
             }
+            searchChunk.publish()
             return searchChunk
         }
     }
 }
-
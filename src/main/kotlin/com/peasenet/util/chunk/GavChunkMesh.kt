@@ -0,0 +1,556 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import com.mojang.blaze3d.vertex.PoseStack
+import com.mojang.blaze3d.vertex.VertexConsumer
+import com.peasenet.gavui.color.Color
+import com.peasenet.util.block.Edge
+import com.peasenet.util.block.GavBlock
+import com.peasenet.util.math.ViewFrustum
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap
+import it.unimi.dsi.fastutil.ints.IntArrayList
+import net.minecraft.core.SectionPos
+
+/**
+ * The baked line geometry of a [GavChunk]. The lines of every visible block are computed once, relative to the
+ * chunk origin, and replayed each frame with a single camera-relative translation, instead of re-deriving every
+ * edge of every block each frame.
+ *
+ * While baking, the unit edges of every block are greedily merged: edges of the same color that lie on the same
+ * axis-aligned line and touch or overlap are joined into one long line, so a large vein or cave floor is outlined
+ * by a handful of lines per row instead of one line per block edge.
+ *
+ * Lines are baked and stored section by section, so [render] can skip whole sections, and whole chunks, that are
+ * outside the view frustum or too far away before any vertex is written. Within a section, the lines of each layer of
+ * blocks, see [GavChunk.addBlocks], are stored as one batch, so [render] can hide whole layers or recolor them without
+ * re-baking.
+ *
+ * A mesh is only valid for the [blocks], [blockColor], [alpha] and [structureEsp] it was baked with, see [matches].
+ *
+ * @param originX The block x coordinate of the chunk origin.
+ * @param originZ The block z coordinate of the chunk origin.
+ * @param blocks The snapshot of visible blocks that was baked, packed with [GavSection.packVisible].
+ * @param blockColor The default color of the blocks.
+ * @param alpha The alpha of the lines.
+ * @param structureEsp Whether only the outer edges of structures were baked.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class GavChunkMesh private constructor(
+    private val originX: Int,
+    private val originZ: Int,
+    private val blocks: LongArray,
+    private val blockColor: Color,
+    private val alpha: Float,
+    private val structureEsp: Boolean,
+) {
+    /**
+     * The start and end position of each line, six floats per line.
+     */
+    private var positions = FloatArray(INITIAL_LINES * 6)
+
+    /**
+     * The normal of each line, three floats per line.
+     */
+    private var normals = FloatArray(INITIAL_LINES * 3)
+
+    /**
+     * The ARGB color of each line.
+     */
+    private var colors = IntArray(INITIAL_LINES)
+
+    /**
+     * The number of lines in the mesh.
+     */
+    var lineCount = 0
+        private set
+
+    /**
+     * The layer of each batch.
+     */
+    private var batchLayers = IntArray(4)
+
+    /**
+     * The line after the last line of each batch. The lines of batch `i` start at the end of batch `i - 1`.
+     */
+    private var batchEnds = IntArray(4)
+
+    /**
+     * The number of batches.
+     */
+    private var batchCount = 0
+
+    /**
+     * The y coordinate of each baked section, in section coordinates.
+     */
+    private var sectionYs = IntArray(4)
+
+    /**
+     * The batch after the last batch of each baked section. The batches of section `i` start at the end of section
+     * `i - 1`.
+     */
+    private var sectionEnds = IntArray(4)
+
+    /**
+     * The number of baked sections.
+     */
+    private var sectionCount = 0
+
+    /**
+     * The lowest and highest baked section y coordinates, bounding the whole mesh.
+     */
+    private var minSectionY = Int.MAX_VALUE
+    private var maxSectionY = Int.MIN_VALUE
+
+    /**
+     * Whether this mesh was baked with the given settings.
+     */
+    fun matches(blocks: LongArray, blockColor: Color, alpha: Float, structureEsp: Boolean): Boolean {
+        return this.blocks === blocks && this.blockColor == blockColor && this.alpha == alpha && this.structureEsp == structureEsp
+    }
+
+    /**
+     * Draws the mesh. The [matrixStack] is translated once from the chunk origin to the camera, and the baked lines of
+     * every section that is within [maxDistance] and inside the [frustum] are written to the [buffer], skipping the
+     * batches of layers that are not in [layerMask].
+     *
+     * @param matrixStack The matrix stack.
+     * @param cameraX The x position of the camera.
+     * @param cameraY The y position of the camera.
+     * @param cameraZ The z position of the camera.
+     * @param buffer The buffer to draw into.
+     * @param frustum The frustum to cull sections with, or null to not cull.
+     * @param maxDistance The maximum distance from the camera to a section, in blocks.
+     * @param layerMask The layers to draw, one bit per layer.
+     * @param layerColors The ARGB color to draw each layer with instead of the baked colors, or null.
+     */
+    fun render(
+        matrixStack: PoseStack,
+        cameraX: Double,
+        cameraY: Double,
+        cameraZ: Double,
+        buffer: VertexConsumer,
+        frustum: ViewFrustum? = null,
+        maxDistance: Float = Float.POSITIVE_INFINITY,
+        layerMask: Long = ALL_LAYERS,
+        layerColors: IntArray? = null,
+    ) {
+        if (lineCount == 0) return
+        val minX = (originX - cameraX).toFloat()
+        val minZ = (originZ - cameraZ).toFloat()
+        val maxDistanceSq = maxDistance * maxDistance
+        val chunkMinY = (SectionPos.sectionToBlockCoord(minSectionY) - cameraY).toFloat()
+        val chunkMaxY = (SectionPos.sectionToBlockCoord(maxSectionY + 1) - cameraY).toFloat()
+        if (!isVisible(frustum, maxDistanceSq, minX, chunkMinY, minZ, minX + 16, chunkMaxY, minZ + 16)) return
+
+        matrixStack.pushPose()
+        matrixStack.translate(originX - cameraX, -cameraY, originZ - cameraZ)
+        val pose = matrixStack.last()
+        var batch = 0
+        for (section in 0 until sectionCount) {
+            val end = sectionEnds[section]
+            val minY = (SectionPos.sectionToBlockCoord(sectionYs[section]) - cameraY).toFloat()
+            if (isVisible(frustum, maxDistanceSq, minX, minY, minZ)) {
+                for (i in batch until end) {
+                    val layer = batchLayers[i]
+                    if (layerMask and (1L shl layer) == 0L) continue
+                    val start = if (i == 0) 0 else batchEnds[i - 1]
+                    if (layerColors == null) {
+                        renderLines(pose, start, batchEnds[i], buffer)
+                    } else {
+                        renderLines(pose, start, batchEnds[i], buffer, layerColors[layer])
+                    }
+                }
+            }
+            batch = end
+        }
+        matrixStack.popPose()
+    }
+
+    /**
+     * Tests the 16x16x16 box starting at the given camera relative position against [maxDistanceSq] and [frustum].
+     */
+    private fun isVisible(frustum: ViewFrustum?, maxDistanceSq: Float, minX: Float, minY: Float, minZ: Float): Boolean {
+        return isVisible(frustum, maxDistanceSq, minX, minY, minZ, minX + 16, minY + 16, minZ + 16)
+    }
+
+    /**
+     * Tests the given camera relative box against [maxDistanceSq], using the point of the box nearest to the camera,
+     * and against [frustum].
+     */
+    private fun isVisible(
+        frustum: ViewFrustum?,
+        maxDistanceSq: Float,
+        minX: Float,
+        minY: Float,
+        minZ: Float,
+        maxX: Float,
+        maxY: Float,
+        maxZ: Float,
+    ): Boolean {
+        val dx = maxOf(0f, minX, -maxX)
+        val dy = maxOf(0f, minY, -maxY)
+        val dz = maxOf(0f, minZ, -maxZ)
+        if (dx * dx + dy * dy + dz * dz > maxDistanceSq) return false
+        return frustum?.isVisible(minX, minY, minZ, maxX, maxY, maxZ) ?: true
+    }
+
+    /**
+     * Writes the lines from [start] until [end] to the [buffer], in their baked colors.
+     */
+    private fun renderLines(pose: PoseStack.Pose, start: Int, end: Int, buffer: VertexConsumer) {
+        for (line in start until end) {
+            renderLine(pose, line, buffer, colors[line])
+        }
+    }
+
+    /**
+     * Writes the lines from [start] until [end] to the [buffer], all in the given ARGB [color].
+     */
+    private fun renderLines(pose: PoseStack.Pose, start: Int, end: Int, buffer: VertexConsumer, color: Int) {
+        for (line in start until end) {
+            renderLine(pose, line, buffer, color)
+        }
+    }
+
+    /**
+     * Writes a single [line] to the [buffer] in the given ARGB [color]. The normal is written untransformed, like
+     * [com.peasenet.util.RenderUtils.drawSingleLineOptimized] does for chunks that are not baked.
+     */
+    private fun renderLine(pose: PoseStack.Pose, line: Int, buffer: VertexConsumer, color: Int) {
+        val p = line * 6
+        val n = line * 3
+        buffer.addVertex(pose, positions[p], positions[p + 1], positions[p + 2])
+            .setColor(color)
+            .setNormal(normals[n], normals[n + 1], normals[n + 2])
+            .setLineWidth(2.0f)
+        buffer.addVertex(pose, positions[p + 3], positions[p + 4], positions[p + 5])
+            .setColor(color)
+            .setNormal(normals[n], normals[n + 1], normals[n + 2])
+            .setLineWidth(2.0f)
+    }
+
+    /**
+     * Ends the batch of the given [layer], which owns every line added since the previous batch ended.
+     */
+    private fun endBatch(layer: Int) {
+        if (batchCount == batchLayers.size) {
+            batchLayers = batchLayers.copyOf(batchCount * 2)
+            batchEnds = batchEnds.copyOf(batchCount * 2)
+        }
+        batchLayers[batchCount] = layer
+        batchEnds[batchCount] = lineCount
+        batchCount++
+    }
+
+    /**
+     * Ends the section with the given [sectionY], which owns every batch added since the previous section ended.
+     */
+    private fun endSection(sectionY: Int) {
+        if (sectionCount == sectionYs.size) {
+            sectionYs = sectionYs.copyOf(sectionCount * 2)
+            sectionEnds = sectionEnds.copyOf(sectionCount * 2)
+        }
+        sectionYs[sectionCount] = sectionY
+        sectionEnds[sectionCount] = batchCount
+        sectionCount++
+        minSectionY = minOf(minSectionY, sectionY)
+        maxSectionY = maxOf(maxSectionY, sectionY)
+    }
+
+    /**
+     * Merges and adds the edges of the blocks from [from] until [to], which all belong to the section [sectionY].
+     *
+     * @param sectionY The section y coordinate of the blocks.
+     * @param blocks The packed visible blocks.
+     * @param blockEdges The edges to draw of each block.
+     * @param styleColorIndex The index in [palette] of the color of each style.
+     * @param styleLayers The layer of each style.
+     * @param palette The distinct ARGB colors of the mesh.
+     * @param from The first block of the section.
+     * @param to The block after the last block of the section.
+     * @param packed A buffer with room for the edges of the section.
+     */
+    private fun bakeSection(
+        sectionY: Int,
+        blocks: LongArray,
+        blockEdges: IntArray,
+        styleColorIndex: IntArray,
+        styleLayers: IntArray,
+        palette: IntArrayList,
+        from: Int,
+        to: Int,
+        packed: LongArray,
+    ) {
+        var count = 0
+        for (i in from until to) {
+            val block = blocks[i]
+            val style = GavSection.style(GavSection.visibleState(block))
+            val colorIndex = styleColorIndex[style]
+            val layer = styleLayers[style]
+            val x = GavSection.visibleX(block)
+            val y = GavSection.visibleY(block)
+            val z = GavSection.visibleZ(block)
+            for (edge in Edge.fromMask(blockEdges[i])) {
+                packed[count++] = when {
+                    edge.x1 != edge.x2 ->
+                        pack(layer, AXIS_X, colorIndex, y + edge.y1, z + edge.z1, x + minOf(edge.x1, edge.x2))
+
+                    edge.y1 != edge.y2 ->
+                        pack(layer, AXIS_Y, colorIndex, x + edge.x1, z + edge.z1, y + minOf(edge.y1, edge.y2))
+
+                    else ->
+                        pack(layer, AXIS_Z, colorIndex, x + edge.x1, y + edge.y1, z + minOf(edge.z1, edge.z2))
+                }
+            }
+        }
+        if (count == 0) return
+        packed.sort(0, count)
+
+        // Walk the sorted edges and join every run of touching edges on the same line into one line. Edges are sorted
+        // by layer first, so each layer ends up as one contiguous batch.
+        val lineMask = COORD_MASK.toLong().inv()
+        var layer = (packed[0] ushr LAYER_SHIFT).toInt()
+        var runStart = packed[0]
+        var runEnd = unpack(runStart, 0) + 1
+        for (i in 1..count) {
+            val next = if (i < count) packed[i] else -1L
+            if (i < count && next and lineMask == runStart and lineMask && unpack(next, 0) <= runEnd) {
+                runEnd = maxOf(runEnd, unpack(next, 0) + 1)
+                continue
+            }
+            val runLayer = (runStart ushr LAYER_SHIFT).toInt()
+            if (runLayer != layer) {
+                endBatch(layer)
+                layer = runLayer
+            }
+            addLine(
+                (runStart ushr 55).toInt() and 3,
+                unpack(runStart, COORD_BITS * 2),
+                unpack(runStart, COORD_BITS),
+                unpack(runStart, 0),
+                runEnd,
+                palette.getInt((runStart ushr 39).toInt() and 0xFFFF)
+            )
+            if (i < count) {
+                runStart = next
+                runEnd = unpack(next, 0) + 1
+            }
+        }
+        endBatch(layer)
+        endSection(sectionY)
+    }
+
+    /**
+     * Adds an axis-aligned line along [axis], from [start] to [end], to the mesh. The coordinates are relative to the
+     * chunk origin.
+     *
+     * @param axis The axis of the line, see [AXIS_X], [AXIS_Y] and [AXIS_Z].
+     * @param a The first fixed coordinate of the line, y for x lines and x otherwise.
+     * @param b The second fixed coordinate of the line, y for z lines and z otherwise.
+     * @param start The coordinate along [axis] the line starts at.
+     * @param end The coordinate along [axis] the line ends at.
+     * @param color The ARGB color of the line.
+     */
+    private fun addLine(axis: Int, a: Int, b: Int, start: Int, end: Int, color: Int) {
+        ensureCapacity(lineCount + 1)
+        val p = lineCount * 6
+        val n = lineCount * 3
+        when (axis) {
+            AXIS_X -> {
+                setLine(p, start, a, b, end, a, b)
+                normals[n] = 1f
+            }
+
+            AXIS_Y -> {
+                setLine(p, a, start, b, a, end, b)
+                normals[n + 1] = 1f
+            }
+
+            else -> {
+                setLine(p, a, b, start, a, b, end)
+                normals[n + 2] = 1f
+            }
+        }
+        colors[lineCount] = color
+        lineCount++
+    }
+
+    /**
+     * Writes the start and end position of a line at offset [p] of [positions].
+     */
+    private fun setLine(p: Int, x1: Int, y1: Int, z1: Int, x2: Int, y2: Int, z2: Int) {
+        positions[p] = x1.toFloat()
+        positions[p + 1] = y1.toFloat()
+        positions[p + 2] = z1.toFloat()
+        positions[p + 3] = x2.toFloat()
+        positions[p + 4] = y2.toFloat()
+        positions[p + 5] = z2.toFloat()
+    }
+
+    /**
+     * Grows the buffers to hold at least [lines] lines.
+     */
+    private fun ensureCapacity(lines: Int) {
+        if (lines <= colors.size) return
+        val newSize = maxOf(lines, colors.size * 2)
+        positions = positions.copyOf(newSize * 6)
+        normals = normals.copyOf(newSize * 3)
+        colors = colors.copyOf(newSize)
+    }
+
+    companion object {
+        /**
+         * The number of lines a new mesh has room for.
+         */
+        private const val INITIAL_LINES = 64
+
+        private const val AXIS_X = 0
+        private const val AXIS_Y = 1
+        private const val AXIS_Z = 2
+
+        /**
+         * The number of bits of each coordinate in a packed edge.
+         */
+        private const val COORD_BITS = 13
+
+        /**
+         * The mask of a single packed coordinate.
+         */
+        private const val COORD_MASK = (1 shl COORD_BITS) - 1
+
+        /**
+         * Added to every coordinate before packing, so negative y values stay positive.
+         */
+        private const val COORD_OFFSET = 1 shl (COORD_BITS - 1)
+
+        /**
+         * The bits of the edge mask that have geometry, [Edge.Edge1] through [Edge.Edge12].
+         */
+        private const val LINE_BITS = 0x1FFE
+
+        /**
+         * The number of layers a mesh can have, limited by the bits left in a packed edge.
+         */
+        const val MAX_LAYERS = 64
+
+        /**
+         * A layer mask with every layer.
+         */
+        const val ALL_LAYERS = -1L
+
+        /**
+         * The shift of the layer in a packed edge.
+         */
+        private const val LAYER_SHIFT = 57
+
+        /**
+         * Packs a unit edge into a sortable long. From high to low bits: layer, axis, color index, the two fixed
+         * coordinates and the start coordinate along the axis. Sorting packed edges therefore groups them by layer, and
+         * puts edges on the same line next to each other, ordered by where they start.
+         */
+        private fun pack(layer: Int, axis: Int, colorIndex: Int, a: Int, b: Int, start: Int): Long {
+            return (layer.toLong() shl LAYER_SHIFT) or
+                    (axis.toLong() shl 55) or
+                    (colorIndex.toLong() shl 39) or
+                    ((a + COORD_OFFSET).toLong() shl (COORD_BITS * 2)) or
+                    ((b + COORD_OFFSET).toLong() shl COORD_BITS) or
+                    (start + COORD_OFFSET).toLong()
+        }
+
+        /**
+         * Gets the coordinate at [shift] of a packed edge.
+         */
+        private fun unpack(packed: Long, shift: Int): Int {
+            return ((packed ushr shift).toInt() and COORD_MASK) - COORD_OFFSET
+        }
+
+        /**
+         * Bakes the lines of the given blocks.
+         *
+         * @param chunk The chunk the blocks belong to.
+         * @param blocks The visible blocks of the chunk, packed with [GavSection.packVisible].
+         * @param styleColors The color of each style of the chunk, null for the default [blockColor].
+         * @param styleLayers The layer of each style of the chunk.
+         * @param blockColor The color of blocks that have no color of their own.
+         * @param alpha The alpha of the lines.
+         * @param structureEsp Whether to only bake the outer edges of structures.
+         * @return The baked mesh.
+         */
+        fun bake(
+            chunk: GavChunk,
+            blocks: LongArray,
+            styleColors: Array<Color?>,
+            styleLayers: IntArray,
+            blockColor: Color,
+            alpha: Float,
+            structureEsp: Boolean,
+        ): GavChunkMesh {
+            val mesh = GavChunkMesh(
+                chunk.chunkPos.minBlockX, chunk.chunkPos.minBlockZ, blocks, blockColor, alpha, structureEsp
+            )
+            val blockEdges = IntArray(blocks.size)
+            var edgeCount = 0
+            for (i in blocks.indices) {
+                val neighbors = GavSection.neighbors(GavSection.visibleState(blocks[i]))
+                blockEdges[i] = if (structureEsp) GavBlock.edgesFor(neighbors) else Edge.All.mask
+                edgeCount += Integer.bitCount(blockEdges[i] and LINE_BITS)
+            }
+            if (edgeCount == 0) return mesh
+
+            // resolve every style to an index into a palette of distinct colors, so equal colors still merge.
+            val defaultColor = blockColor.getAsInt(alpha)
+            val palette = IntArrayList()
+            val paletteIndex = Int2IntOpenHashMap().apply { defaultReturnValue(-1) }
+            val styleColorIndex = IntArray(styleColors.size)
+            for (style in styleColors.indices) {
+                val color = styleColors[style]?.getAsInt(alpha) ?: defaultColor
+                var colorIndex = paletteIndex.get(color)
+                if (colorIndex == -1) {
+                    colorIndex = palette.size
+                    palette.add(color)
+                    paletteIndex.put(color, colorIndex)
+                }
+                styleColorIndex[style] = colorIndex
+            }
+
+            // the blocks of a section are contiguous in the snapshot, bake them section by section.
+            val packed = LongArray(edgeCount)
+            var from = 0
+            while (from < blocks.size) {
+                val sectionY = SectionPos.blockToSectionCoord(GavSection.visibleY(blocks[from]))
+                var to = from + 1
+                while (to < blocks.size && SectionPos.blockToSectionCoord(GavSection.visibleY(blocks[to])) == sectionY) {
+                    to++
+                }
+                mesh.bakeSection(sectionY, blocks, blockEdges, styleColorIndex, styleLayers, palette, from, to, packed)
+                from = to
+            }
+            return mesh
+        }
+    }
+}
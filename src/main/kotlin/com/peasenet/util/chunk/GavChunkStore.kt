@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
+import net.minecraft.world.level.ChunkPos
+
+/**
+ * A store of [GavChunk]s keyed by their packed chunk position ([net.minecraft.world.level.ChunkPos.toLong]).
+ *
+ * Writes (from chunk scans and block updates) are serialized on the store, while readers on the render thread
+ * use [values], an immutable snapshot that is republished after every write, and never take a lock.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ * @see GavChunk
+ */
+class GavChunkStore {
+
+    /**
+     * The chunks in the store, guarded by this store.
+     */
+    private val chunks = Long2ObjectOpenHashMap<GavChunk>()
+
+    /**
+     * The snapshot of the chunks that is read by the render thread.
+     */
+    @Volatile
+    private var snapshot: Array<GavChunk> = emptyArray()
+
+    /**
+     * Gets a snapshot of all the chunks in the store. This does not lock, and is safe to iterate while the store is
+     * being modified.
+     */
+    val values: Array<GavChunk>
+        get() = snapshot
+
+    /**
+     * Whether the store has no chunks.
+     */
+    fun isEmpty(): Boolean = snapshot.isEmpty()
+
+    /**
+     * Gets the chunk with the given [key].
+     * @param key The packed chunk position.
+     * @return The chunk, or null if it is not in the store.
+     */
+    operator fun get(key: Long): GavChunk? {
+        synchronized(this) {
+            return chunks.get(key)
+        }
+    }
+
+    /**
+     * Gets the chunk at the given chunk coordinates, without allocating a [ChunkPos].
+     * @param chunkX The chunk x coordinate.
+     * @param chunkZ The chunk z coordinate.
+     * @return The chunk, or null if it is not in the store.
+     */
+    operator fun get(chunkX: Int, chunkZ: Int): GavChunk? {
+        return get(ChunkPos.asLong(chunkX, chunkZ))
+    }
+
+    /**
+     * Whether there is a chunk with the given [key].
+     * @param key The packed chunk position.
+     */
+    fun containsKey(key: Long): Boolean {
+        synchronized(this) {
+            return chunks.containsKey(key)
+        }
+    }
+
+    /**
+     * Adds or replaces the given [chunk].
+     * @param chunk The chunk to add.
+     */
+    fun put(chunk: GavChunk) {
+        synchronized(this) {
+            chunks.put(chunk.key, chunk)
+            publish()
+        }
+    }
+
+    /**
+     * Gets the chunk with the given [key], or adds the one created by [create] if it is not in the store.
+     * @param key The packed chunk position.
+     * @param create Creates the chunk to add.
+     */
+    fun getOrPut(key: Long, create: () -> GavChunk): GavChunk {
+        synchronized(this) {
+            chunks.get(key)?.let { return it }
+            val chunk = create()
+            chunks.put(key, chunk)
+            publish()
+            return chunk
+        }
+    }
+
+    /**
+     * Removes the chunk with the given [key].
+     * @param key The packed chunk position.
+     */
+    fun remove(key: Long) {
+        synchronized(this) {
+            if (chunks.remove(key) != null) publish()
+        }
+    }
+
+    /**
+     * Removes all chunks matching the given [predicate].
+     * @param predicate The predicate.
+     */
+    fun removeIf(predicate: (GavChunk) -> Boolean) {
+        synchronized(this) {
+            if (chunks.values.removeIf(predicate)) publish()
+        }
+    }
+
+    /**
+     * Removes all chunks.
+     */
+    fun clear() {
+        synchronized(this) {
+            chunks.clear()
+            publish()
+        }
+    }
+
+    /**
+     * Publishes a new snapshot of the chunks for the render thread.
+     */
+    private fun publish() {
+        snapshot = chunks.values.toTypedArray()
+    }
+}
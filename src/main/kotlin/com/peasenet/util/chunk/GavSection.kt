@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+/**
+ * A compact 16x16x16 section of a [GavChunk]. Which positions hold a block is kept in a 4096-bit occupancy set, and
+ * everything else about a block is packed into a single short state: its six neighbor bits, whether it passed its own
+ * visibility filter, and the index of its style in the chunk palette.
+ *
+ * Positions inside the section are addressed by their [index], `y shl 8 or z shl 4 or x`.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class GavSection {
+    /**
+     * The occupancy set, one bit per position.
+     */
+    private val occupied = LongArray(SIZE / Long.SIZE_BITS)
+
+    /**
+     * The packed state of each occupied position, see [state].
+     */
+    private val states = ShortArray(SIZE)
+
+    /**
+     * The number of blocks in the section.
+     */
+    var count = 0
+        private set
+
+    /**
+     * Whether the section has no blocks.
+     */
+    fun isEmpty(): Boolean = count == 0
+
+    /**
+     * Whether there is a block at the given [index].
+     */
+    operator fun contains(index: Int): Boolean {
+        return occupied[index ushr 6] and (1L shl index) != 0L
+    }
+
+    /**
+     * Gets the packed state of the block at the given [index].
+     */
+    operator fun get(index: Int): Int {
+        return states[index].toInt() and 0xFFFF
+    }
+
+    /**
+     * Sets the packed state of the block at the given [index], adding the block if there is none.
+     */
+    operator fun set(index: Int, state: Int) {
+        val word = index ushr 6
+        val bit = 1L shl index
+        if (occupied[word] and bit == 0L) {
+            occupied[word] = occupied[word] or bit
+            count++
+        }
+        states[index] = state.toShort()
+    }
+
+    /**
+     * Removes the block at the given [index].
+     * @return Whether there was a block to remove.
+     */
+    fun remove(index: Int): Boolean {
+        val word = index ushr 6
+        val bit = 1L shl index
+        if (occupied[word] and bit == 0L) return false
+        occupied[word] = occupied[word] and bit.inv()
+        states[index] = 0
+        count--
+        return true
+    }
+
+    /**
+     * Gets the first occupied index at or after [from], like [java.util.BitSet.nextSetBit].
+     * @return The index, or -1 if there is none.
+     */
+    fun nextIndex(from: Int): Int {
+        if (from >= SIZE) return -1
+        var word = from ushr 6
+        var bits = occupied[word] and (-1L shl from)
+        while (true) {
+            if (bits != 0L) return (word shl 6) + java.lang.Long.numberOfTrailingZeros(bits)
+            if (++word == occupied.size) return -1
+            bits = occupied[word]
+        }
+    }
+
+    companion object {
+        /**
+         * The number of positions in a section.
+         */
+        const val SIZE = 4096
+
+        /**
+         * The mask of the neighbor bits of a state, one bit per [net.minecraft.core.Direction] ordinal.
+         */
+        const val NEIGHBOR_MASK = 0x3F
+
+        /**
+         * The bit of a state that is set when the block passed its own visibility filter.
+         */
+        private const val PRESENT = 1 shl 6
+
+        private const val STYLE_SHIFT = 7
+
+        /**
+         * The number of styles a state can refer to.
+         */
+        const val MAX_STYLES = 1 shl (16 - STYLE_SHIFT)
+
+        /**
+         * Gets the index of the given block coordinates within their section.
+         */
+        fun index(x: Int, y: Int, z: Int): Int {
+            return (y and 15 shl 8) or (z and 15 shl 4) or (x and 15)
+        }
+
+        fun localX(index: Int): Int = index and 15
+
+        fun localY(index: Int): Int = index ushr 8
+
+        fun localZ(index: Int): Int = index ushr 4 and 15
+
+        /**
+         * Packs a block state.
+         * @param neighbors The neighbor bits.
+         * @param present Whether the block passed its own visibility filter.
+         * @param style The index of the style of the block in the chunk palette.
+         */
+        fun state(neighbors: Int, present: Boolean, style: Int): Int {
+            return (style shl STYLE_SHIFT) or (if (present) PRESENT else 0) or (neighbors and NEIGHBOR_MASK)
+        }
+
+        fun neighbors(state: Int): Int = state and NEIGHBOR_MASK
+
+        fun isPresent(state: Int): Boolean = state and PRESENT != 0
+
+        fun style(state: Int): Int = state ushr STYLE_SHIFT
+
+        /**
+         * Packs a visible block for the render snapshot of a chunk: its state, its position within the chunk and its
+         * y coordinate.
+         */
+        fun packVisible(index: Int, y: Int, state: Int): Long {
+            return ((y + Short.MAX_VALUE + 1).toLong() shl 24) or ((index and 0xFF).toLong() shl 16) or state.toLong()
+        }
+
+        fun visibleX(packed: Long): Int = (packed ushr 16).toInt() and 15
+
+        fun visibleY(packed: Long): Int = (packed ushr 24).toInt() - Short.MAX_VALUE - 1
+
+        fun visibleZ(packed: Long): Int = (packed ushr 20).toInt() and 15
+
+        fun visibleState(packed: Long): Int = packed.toInt() and 0xFFFF
+    }
+}
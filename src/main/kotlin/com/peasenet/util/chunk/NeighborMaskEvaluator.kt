@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
+import net.minecraft.core.BlockPos
+import net.minecraft.core.Direction
+import net.minecraft.core.SectionPos
+import net.minecraft.world.level.ChunkPos
+import net.minecraft.world.level.Level
+import net.minecraft.world.level.block.Blocks
+import net.minecraft.world.level.block.state.BlockState
+import net.minecraft.world.level.chunk.ChunkAccess
+import net.minecraft.world.level.chunk.status.ChunkStatus
+
+/**
+ * Evaluates the presence and neighbor masks of many blocks of a chunk at once, as [GavChunk] would with a visibility
+ * filter, but without going through the world for every block and every neighbor.
+ *
+ * Block states are read straight from the section storage of the chunk and its eight neighbors, which are looked up
+ * once, and every state that has been read is kept, so each position is only read once no matter how many blocks
+ * neighbor it. An evaluator is a snapshot of the world at the time it is used, so it should only live for a single
+ * chunk search.
+ *
+ * ~~~kotlin
+ * val evaluator = NeighborMaskEvaluator(world, chunk.pos)
+ * val states = evaluator.evaluate(positions) { it.block === Blocks.DIAMOND_ORE }
+ * gavChunk.addEvaluatedBlocks(positions, states, filter, color)
+ * ~~~
+ *
+ * @param level The world to read from.
+ * @param center The chunk the evaluated blocks are in.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class NeighborMaskEvaluator(private val level: Level, center: ChunkPos) {
+
+    private val originX = center.x - 1
+    private val originZ = center.z - 1
+
+    /**
+     * The loaded chunks around [center], x first, null if a chunk is not loaded.
+     */
+    private val chunks: Array<ChunkAccess?> = Array(9) {
+        level.getChunk(originX + it % 3, originZ + it / 3, ChunkStatus.FULL, false)
+    }
+
+    /**
+     * The states read so far, by packed position.
+     */
+    private val states = Long2ObjectOpenHashMap<BlockState>()
+
+    private val pos = BlockPos.MutableBlockPos()
+
+    /**
+     * Evaluates the blocks at the given positions.
+     *
+     * @param positions The packed ([BlockPos.asLong]) positions of the blocks.
+     * @param matches Whether a block state is one of the blocks, the visibility filter of the blocks.
+     * @return The state of each block for [GavChunk.addEvaluatedBlocks]: whether it matches, and which of its
+     * neighbors match, packed with [GavSection.state].
+     */
+    fun evaluate(positions: LongArray, matches: (BlockState) -> Boolean): IntArray {
+        val result = IntArray(positions.size)
+        for (i in positions.indices) {
+            val position = positions[i]
+            val present = matches(getBlockState(position))
+            var neighbors = 0
+            for (direction in DIRECTIONS) {
+                if (matches(getBlockState(BlockPos.offset(position, direction)))) {
+                    neighbors = neighbors or (1 shl direction.ordinal)
+                }
+            }
+            result[i] = GavSection.state(neighbors, present, 0)
+        }
+        return result
+    }
+
+    /**
+     * Gets the block state at the given packed position, reading it from the section storage the first time.
+     */
+    fun getBlockState(packed: Long): BlockState {
+        var state = states.get(packed)
+        if (state == null) {
+            state = readBlockState(BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed))
+            states.put(packed, state)
+        }
+        return state
+    }
+
+    private fun readBlockState(x: Int, y: Int, z: Int): BlockState {
+        val chunkX = SectionPos.blockToSectionCoord(x) - originX
+        val chunkZ = SectionPos.blockToSectionCoord(z) - originZ
+        if (chunkX !in 0..2 || chunkZ !in 0..2) return level.getBlockState(pos.set(x, y, z))
+        val chunk = chunks[chunkZ * 3 + chunkX] ?: return AIR
+        val sectionIndex = chunk.getSectionIndex(y)
+        if (sectionIndex < 0 || sectionIndex >= chunk.sections.size) return AIR
+        return chunk.sections[sectionIndex].getBlockState(x and 15, y and 15, z and 15)
+    }
+
+    companion object {
+        private val DIRECTIONS = Direction.entries.toTypedArray()
+        private val AIR = Blocks.AIR.defaultBlockState()
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import com.peasenet.config.esp.OreProfile
+import com.peasenet.main.GavinsMod
+import com.peasenet.util.Dimension
+import com.peasenet.util.PlayerUtils
+import com.peasenet.util.block.Ore
+import com.peasenet.util.block.OreBiomeTable
+import com.peasenet.util.block.OreSimulator
+import com.peasenet.util.executor.GemExecutor
+import net.minecraft.client.Minecraft
+import net.minecraft.world.level.ChunkPos
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Precomputes the ores of every chunk in a square around a chunk into the [OreRegionCache] of a profile, in the
+ * background, so ore ESP only has to validate them once the chunks are loaded.
+ *
+ * Chunks that are not loaded have no known biomes, so only the ores that can generate in every biome are precomputed,
+ * and the chunks are cached as partial, see [OreRegionCache.readPartial]. The remaining ores are simulated when ore ESP
+ * searches the chunk. Chunks that are already cached are skipped. Progress is reported in chat every tenth of the way.
+ *
+ * Only one precompute runs at a time, on its own low priority thread, so the [GemExecutor] pool stays free for chunk
+ * scans and block updates while a large radius is precomputed.
+ *
+ * ~~~kotlin
+ * OrePrecompute.start(profile, Dimension.OVERWORLD, world.minY, world.dimensionType().logicalHeight, chunkPos, 64)
+ * ~~~
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OrePrecompute private constructor(
+    private val profile: OreProfile,
+    private val dimension: Dimension,
+    private val minY: Int,
+    private val height: Int,
+    private val center: ChunkPos,
+    private val radius: Int,
+) {
+    private val side = radius * 2 + 1
+    private val total = side * side
+
+    /**
+     * The number of chunks done, precomputed or skipped. Chunks are numbered row by row.
+     */
+    private val done = AtomicInteger()
+
+    private val cancelled = AtomicBoolean()
+
+    private lateinit var cache: OreRegionCache
+    private lateinit var ores: List<Ore>
+
+    private fun start() {
+        val table = OreBiomeTable(Ore.registry(dimension, minY, height))
+        ores = table.ores(table.universalOres)
+        cache = OreRegionCache.of(profile.seed, dimension, minY, height)
+        report("Precomputing ores of $total chunks for profile ${profile.name}...")
+        val thread = Thread(this::work, "gem-ore-precompute")
+        thread.isDaemon = true
+        thread.priority = Thread.MIN_PRIORITY
+        thread.start()
+    }
+
+    /**
+     * Precomputes chunks until there are none left or the precompute is cancelled.
+     */
+    private fun work() {
+        try {
+            while (!cancelled.get()) {
+                val index = done.get()
+                if (index >= total) break
+                val chunkPos = ChunkPos(center.x - radius + index % side, center.z - radius + index / side)
+                if (!cache.contains(chunkPos)) {
+                    val candidates =
+                        OreSimulator.simulate(profile.seed, chunkPos.x, chunkPos.z, ores) { _, _, _, _ -> true }
+                    cache.write(chunkPos, candidates, false)
+                }
+                val count = done.incrementAndGet()
+                if (count * 10 / total != (count - 1) * 10 / total && count < total) {
+                    report("Precomputed ${count * 100 / total}% ($count/$total chunks).")
+                }
+            }
+        } catch (e: Exception) {
+            GavinsMod.LOGGER.error("Failed to precompute ores", e)
+            cancelled.set(true)
+        } finally {
+            finish()
+        }
+    }
+
+    private fun finish() {
+        cache.close()
+        running = null
+        if (cancelled.get()) {
+            report("Ore precompute stopped after ${done.get()}/$total chunks.")
+        } else {
+            report("Finished precomputing ores of $total chunks for profile ${profile.name}.")
+        }
+    }
+
+    companion object {
+        /**
+         * The largest radius that can be precomputed, in chunks.
+         */
+        const val MAX_RADIUS = 256
+
+        /**
+         * The running precompute, if any.
+         */
+        @Volatile
+        private var running: OrePrecompute? = null
+
+        /**
+         * Starts precomputing the chunks within [radius] of [center] for the given profile.
+         *
+         * @param profile The profile to precompute.
+         * @param dimension The dimension to precompute.
+         * @param minY The lowest y coordinate of the dimension, as ore ESP will see it.
+         * @param height The logical height of the dimension, as ore ESP will see it.
+         * @param center The center chunk.
+         * @param radius The radius in chunks, up to [MAX_RADIUS].
+         * @return False if a precompute is already running.
+         */
+        @Synchronized
+        fun start(
+            profile: OreProfile,
+            dimension: Dimension,
+            minY: Int,
+            height: Int,
+            center: ChunkPos,
+            radius: Int,
+        ): Boolean {
+            require(radius in 0..MAX_RADIUS) { "The radius must be between 0 and $MAX_RADIUS." }
+            if (running != null) return false
+            val precompute = OrePrecompute(profile, dimension, minY, height, center, radius)
+            running = precompute
+            try {
+                precompute.start()
+            } catch (e: Exception) {
+                running = null
+                throw e
+            }
+            return true
+        }
+
+        /**
+         * Cancels the running precompute. Chunks that have been precomputed so far stay cached.
+         *
+         * @return False if no precompute is running.
+         */
+        fun cancel(): Boolean {
+            val precompute = running ?: return false
+            precompute.cancelled.set(true)
+            return true
+        }
+
+        /**
+         * Sends a progress message to the player, on the client thread.
+         */
+        private fun report(message: String) {
+            Minecraft.getInstance().execute { PlayerUtils.sendMessage(message, true) }
+        }
+    }
+}
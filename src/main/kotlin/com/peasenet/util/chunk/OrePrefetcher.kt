@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import com.peasenet.util.block.Ore
+import com.peasenet.util.block.OreCandidates
+import com.peasenet.util.block.OreSimulator
+import com.peasenet.util.executor.GemExecutor
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap
+import net.minecraft.core.SectionPos
+import net.minecraft.world.level.ChunkPos
+import net.minecraft.world.phys.Vec3
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.math.abs
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.sqrt
+
+/**
+ * Simulates ores of chunks the player is moving towards before they are loaded, so that only validation is left to
+ * do once the chunk arrives.
+ *
+ * Only [ores] that can generate in every biome are prefetched, since the biomes of a chunk are unknown until it is
+ * loaded, see [com.peasenet.util.block.OreBiomeTable.universalOres]. Chunks are picked from the rings just outside
+ * the view distance, nearest first, within a cone around the horizontal movement of the player, and the faster the
+ * player moves the more rings are prefetched.
+ *
+ * ~~~kotlin
+ * prefetcher.tick(player.rootVehicle.position(), player.rootVehicle.deltaMovement, viewDistance)
+ * val prefetched = prefetcher.take(chunk.pos)
+ * ~~~
+ *
+ * @param seed The world seed.
+ * @param ores The ores to prefetch.
+ * @param cache The ore cache, chunks it already contains are not prefetched.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OrePrefetcher(
+    private val seed: Long,
+    private val ores: List<Ore>,
+    private val cache: OreRegionCache?,
+) {
+    /**
+     * The prefetched candidates of each chunk by [ChunkPos.toLong], waiting to be taken.
+     */
+    private val prefetched = ConcurrentHashMap<Long, Int2ObjectOpenHashMap<OreCandidates>>()
+
+    /**
+     * The chunks that have been prefetched or are being prefetched, so they are only prefetched once.
+     */
+    private val requested = ConcurrentHashMap.newKeySet<Long>()
+
+    /**
+     * The number of chunks being prefetched.
+     */
+    private val inFlight = AtomicInteger()
+
+    private var ticks = 0
+
+    /**
+     * Prefetches the chunks ahead of the player. Called every client tick.
+     *
+     * @param position The position of the player.
+     * @param velocity The movement of the player, or of what they ride, in blocks per tick.
+     * @param viewDistance The view distance in chunks, chunks within it are assumed to be loaded already.
+     */
+    fun tick(position: Vec3, velocity: Vec3, viewDistance: Int) {
+        if (ores.isEmpty() || ++ticks % UPDATE_INTERVAL != 0) return
+        val centerX = SectionPos.blockToSectionCoord(position.x)
+        val centerZ = SectionPos.blockToSectionCoord(position.z)
+        evict(centerX, centerZ, viewDistance + MAX_LEAD)
+        val speed = sqrt(velocity.x * velocity.x + velocity.z * velocity.z)
+        if (speed < MIN_SPEED) return
+        val lead = min(MAX_LEAD, max(1, (speed * LOOKAHEAD_TICKS / 16).toInt()))
+        val dirX = velocity.x / speed
+        val dirZ = velocity.z / speed
+        for (radius in viewDistance + 1..viewDistance + lead) {
+            for (i in -radius..radius) {
+                if (!prefetchAhead(centerX, centerZ, i, -radius, dirX, dirZ)) return
+                if (!prefetchAhead(centerX, centerZ, i, radius, dirX, dirZ)) return
+            }
+            for (i in -radius + 1..<radius) {
+                if (!prefetchAhead(centerX, centerZ, -radius, i, dirX, dirZ)) return
+                if (!prefetchAhead(centerX, centerZ, radius, i, dirX, dirZ)) return
+            }
+        }
+    }
+
+    /**
+     * Takes the prefetched candidates of the chunk at [chunkPos], if it has been prefetched.
+     *
+     * @param chunkPos The chunk position.
+     * @return The candidates of each prefetched ore by [Ore.id], or null.
+     */
+    fun take(chunkPos: ChunkPos): Int2ObjectOpenHashMap<OreCandidates>? {
+        return prefetched.remove(chunkPos.toLong())
+    }
+
+    /**
+     * Prefetches the chunk at the offset ([dx], [dz]) from the player, if it lies within the cone around
+     * ([dirX], [dirZ]).
+     *
+     * @return False once enough chunks are being prefetched.
+     */
+    private fun prefetchAhead(centerX: Int, centerZ: Int, dx: Int, dz: Int, dirX: Double, dirZ: Double): Boolean {
+        if (inFlight.get() >= MAX_IN_FLIGHT) return false
+        val distance = sqrt((dx * dx + dz * dz).toDouble())
+        if (dx * dirX + dz * dirZ < distance * MIN_COS) return true
+        val chunkX = centerX + dx
+        val chunkZ = centerZ + dz
+        val key = ChunkPos.asLong(chunkX, chunkZ)
+        if (!requested.add(key)) return true
+        inFlight.incrementAndGet()
+        GemExecutor.execute {
+            try {
+                val chunkPos = ChunkPos(chunkX, chunkZ)
+                if (cache?.contains(chunkPos) != true) {
+                    prefetched[key] = OreSimulator.simulate(seed, chunkX, chunkZ, ores) { _, _, _, _ -> true }
+                    // the chunk may have been evicted while it was simulated
+                    if (!requested.contains(key)) prefetched.remove(key)
+                }
+            } finally {
+                inFlight.decrementAndGet()
+            }
+        }
+        return true
+    }
+
+    /**
+     * Forgets the chunks further than [distance] from the given chunk, so they can be prefetched again if the player
+     * comes back, and so the prefetched candidates of chunks that were never loaded do not pile up.
+     */
+    private fun evict(centerX: Int, centerZ: Int, distance: Int) {
+        requested.removeIf { key ->
+            val far = abs(ChunkPos.getX(key) - centerX) > distance || abs(ChunkPos.getZ(key) - centerZ) > distance
+            if (far) prefetched.remove(key)
+            far
+        }
+    }
+
+    companion object {
+        /**
+         * The number of ticks between picking chunks to prefetch.
+         */
+        private const val UPDATE_INTERVAL = 10
+
+        /**
+         * The horizontal speed, in blocks per tick, below which nothing is prefetched. Sprinting is about 0.28.
+         */
+        private const val MIN_SPEED = 0.5
+
+        /**
+         * How far ahead the movement of the player is predicted, in ticks.
+         */
+        private const val LOOKAHEAD_TICKS = 100
+
+        /**
+         * The maximum number of rings prefetched beyond the view distance.
+         */
+        private const val MAX_LEAD = 8
+
+        /**
+         * The cosine of the half angle of the cone of prefetched chunks, 30 degrees, so the cone is 60 degrees wide.
+         */
+        private const val MIN_COS = 0.866
+
+        /**
+         * The maximum number of chunks being prefetched at once, leaving room for the chunk scans.
+         */
+        private val MAX_IN_FLIGHT = GemExecutor.parallelism * 2
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.chunk
+
+import com.peasenet.main.GavinsMod
+import com.peasenet.main.GavinsModClient
+import com.peasenet.util.Dimension
+import com.peasenet.util.block.Ore
+import com.peasenet.util.block.OreCandidates
+import com.peasenet.util.block.OreSimulator
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap
+import net.minecraft.world.level.ChunkPos
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * A persistent cache of simulated ore positions, so that re-visiting an area or toggling ore ESP reads the positions
+ * back instead of re-running the world generation simulation.
+ *
+ * The cache is split into region files of 32x32 chunks, stored under
+ * `mods/gavinsmod/orecache/<dimension>/<seed>_<minY>_<height>_<ores>/r.<x>.<z>.bin`, where `<ores>` is the
+ * [Ore.fingerprint] of the ores of the world, so a cache made for other ores or another game version is not read.
+ * Each region file starts with a small memory mapped header holding the offset and length of every chunk record, and
+ * chunk records are appended after it.
+ * A replaced record is overwritten in place when the new one fits, otherwise the new one is appended, and a region is
+ * compacted once more than half of it is dead space.
+ * A record holds, for every ore id, the [OreCandidates] of that ore from the pure seed stage of [OreSimulator], so
+ * cached chunks are still validated against the current world when read. A record is either complete, or partial and
+ * only holds the ores that can generate in every biome, for chunks that were simulated without knowing their biomes,
+ * see [readPartial].
+ *
+ * Caches are shared: every [of] for the same world returns the same instance, and its files are only closed once each
+ * of them has been closed. All methods are safe to call from multiple threads.
+ *
+ * @param directory The directory of the region files.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OreRegionCache private constructor(private val directory: Path) : AutoCloseable {
+
+    /**
+     * The open region files, least recently used first.
+     */
+    private val regions = object : LinkedHashMap<Long, RegionFile>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Long, RegionFile>): Boolean {
+            if (size <= MAX_OPEN_REGIONS) return false
+            eldest.value.close()
+            return true
+        }
+    }
+
+    /**
+     * Whether [close] has been called. A closed cache misses every read and drops every write.
+     */
+    private var closed = false
+
+    /**
+     * The number of [of] calls that have not been closed yet. Guarded by [instances].
+     */
+    private var references = 0
+
+    /**
+     * Reads the cached ore positions of the chunk at [chunkPos].
+     * @param chunkPos The chunk position.
+     * @return The candidates of each ore by ore id, or null if the chunk is not cached or only partially cached.
+     */
+    fun read(chunkPos: ChunkPos): Int2ObjectOpenHashMap<OreCandidates>? {
+        return read(chunkPos, true)
+    }
+
+    /**
+     * Reads the cached ore positions of the chunk at [chunkPos], even if only the ores that can generate in every biome
+     * are cached.
+     * @param chunkPos The chunk position.
+     * @return The candidates of each cached ore by ore id, or null if the chunk is not cached.
+     */
+    fun readPartial(chunkPos: ChunkPos): Int2ObjectOpenHashMap<OreCandidates>? {
+        return read(chunkPos, false)
+    }
+
+    private fun read(chunkPos: ChunkPos, complete: Boolean): Int2ObjectOpenHashMap<OreCandidates>? {
+        synchronized(this) {
+            if (closed) return null
+            return try {
+                region(chunkPos).read(indexOf(chunkPos), complete)
+            } catch (e: IOException) {
+                GavinsMod.LOGGER.warn("Failed to read ore cache for chunk $chunkPos", e)
+                null
+            }
+        }
+    }
+
+    /**
+     * Whether the chunk at [chunkPos] is cached, without reading its record.
+     * @param chunkPos The chunk position.
+     * @return Whether [read] would return the chunk.
+     */
+    fun contains(chunkPos: ChunkPos): Boolean {
+        synchronized(this) {
+            if (closed) return false
+            return try {
+                region(chunkPos).contains(indexOf(chunkPos))
+            } catch (e: IOException) {
+                GavinsMod.LOGGER.warn("Failed to read ore cache for chunk $chunkPos", e)
+                false
+            }
+        }
+    }
+
+    /**
+     * Caches the ore positions of the chunk at [chunkPos].
+     * @param chunkPos The chunk position.
+     * @param ores The candidates of each ore by ore id.
+     * @param complete Whether [ores] holds every ore, false if it only holds the ores that can generate in every biome.
+     */
+    fun write(chunkPos: ChunkPos, ores: Int2ObjectMap<OreCandidates>, complete: Boolean = true) {
+        var size = Int.SIZE_BYTES * 2
+        for (candidates in ores.values) {
+            val longs = candidates.positions.size + candidates.airChecks.size + candidates.veins.size
+            size += Int.SIZE_BYTES * 4 + longs * Long.SIZE_BYTES
+        }
+        val record = ByteBuffer.allocate(size)
+        record.putInt(if (complete) FLAG_COMPLETE else 0)
+        record.putInt(ores.size)
+        for (entry in ores.int2ObjectEntrySet()) {
+            val candidates = entry.value
+            record.putInt(entry.intKey)
+            record.putInt(candidates.positions.size)
+            record.putInt(candidates.airChecks.size)
+            record.putInt(candidates.veins.size)
+            for (position in candidates.positions) {
+                record.putLong(position)
+            }
+            for (word in candidates.airChecks) {
+                record.putLong(word)
+            }
+            for (origin in candidates.veins) {
+                record.putLong(origin)
+            }
+        }
+        record.flip()
+        synchronized(this) {
+            if (closed) return
+            try {
+                region(chunkPos).write(indexOf(chunkPos), record)
+            } catch (e: IOException) {
+                GavinsMod.LOGGER.warn("Failed to write ore cache for chunk $chunkPos", e)
+            }
+        }
+    }
+
+    /**
+     * Releases this cache. Once every user of the cache has closed it, every open region file is closed.
+     */
+    override fun close() {
+        synchronized(instances) {
+            if (--references > 0) return
+            instances.remove(directory)
+        }
+        synchronized(this) {
+            closed = true
+            regions.values.forEach { it.close() }
+            regions.clear()
+        }
+    }
+
+    /**
+     * Gets the open region file of the chunk at [chunkPos], opening it if needed.
+     */
+    private fun region(chunkPos: ChunkPos): RegionFile {
+        val regionX = chunkPos.x shr 5
+        val regionZ = chunkPos.z shr 5
+        val key = ChunkPos.asLong(regionX, regionZ)
+        regions[key]?.let { return it }
+        Files.createDirectories(directory)
+        val region = RegionFile(directory.resolve("r.$regionX.$regionZ.bin"))
+        regions[key] = region
+        return region
+    }
+
+    /**
+     * A single region file of 32x32 chunks.
+     */
+    private class RegionFile(path: Path) {
+        private val channel: FileChannel =
+            FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+
+        private val header: MappedByteBuffer
+
+        /**
+         * The bytes after the header that no record points at, left behind by records that were replaced.
+         */
+        private var deadBytes = 0L
+
+        init {
+            val isNew = channel.size() < HEADER_SIZE
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE.toLong())
+            if (isNew || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                // a new file, or one written by an older version: start over.
+                channel.truncate(HEADER_SIZE.toLong())
+                for (i in 0 until HEADER_SIZE step Int.SIZE_BYTES) {
+                    header.putInt(i, 0)
+                }
+                header.putInt(0, MAGIC)
+                header.putInt(4, VERSION)
+            }
+            var liveBytes = 0L
+            for (index in 0 until CHUNKS) {
+                liveBytes += header.getInt(TABLE_OFFSET + index * 8 + 4)
+            }
+            deadBytes = channel.size() - HEADER_SIZE - liveBytes
+        }
+
+        /**
+         * Whether there is a record at the given chunk [index].
+         */
+        fun contains(index: Int): Boolean {
+            return header.getInt(TABLE_OFFSET + index * 8 + 4) != 0
+        }
+
+        /**
+         * Reads the record at the given chunk [index], or null if there is none or it is partial while [complete] is
+         * required.
+         */
+        fun read(index: Int, complete: Boolean): Int2ObjectOpenHashMap<OreCandidates>? {
+            val offset = header.getInt(TABLE_OFFSET + index * 8)
+            val length = header.getInt(TABLE_OFFSET + index * 8 + 4)
+            if (length == 0) return null
+            val record = ByteBuffer.allocate(length)
+            if (!readAt(offset.toLong(), record)) return null
+            record.flip()
+            val flags = record.getInt()
+            if (complete && flags and FLAG_COMPLETE == 0) return null
+            val oreCount = record.getInt()
+            val ores = Int2ObjectOpenHashMap<OreCandidates>(oreCount)
+            repeat(oreCount) {
+                val oreId = record.getInt()
+                val positionCount = record.getInt()
+                val airCheckCount = record.getInt()
+                val veinCount = record.getInt()
+                val positions = LongArray(positionCount) { record.getLong() }
+                val airChecks = LongArray(airCheckCount) { record.getLong() }
+                val veins = LongArray(veinCount) { record.getLong() }
+                ores.put(oreId, OreCandidates(positions, airChecks, veins))
+            }
+            return ores
+        }
+
+        /**
+         * Writes the given [record] and points the chunk [index] at it. The record replaces the previous record of the
+         * chunk in place if it fits, otherwise it is appended and the previous record becomes dead space.
+         *
+         * @throws IOException If the region file cannot grow past the 2 GiB its offsets can address.
+         */
+        fun write(index: Int, record: ByteBuffer) {
+            val entry = TABLE_OFFSET + index * 8
+            val oldOffset = header.getInt(entry)
+            val oldLength = header.getInt(entry + 4)
+            val length = record.remaining()
+            if (oldLength != 0 && length <= oldLength) {
+                writeAt(oldOffset.toLong(), record)
+                header.putInt(entry + 4, length)
+                deadBytes += oldLength - length
+                return
+            }
+            if (oldLength != 0) {
+                header.putInt(entry + 4, 0)
+                deadBytes += oldLength
+            }
+            val dataBytes = channel.size() - HEADER_SIZE
+            if (deadBytes >= MIN_COMPACT_BYTES && deadBytes * 2 > dataBytes) compact()
+            if (channel.size() + length > Int.MAX_VALUE) compact()
+            val offset = channel.size()
+            if (offset + length > Int.MAX_VALUE) throw IOException("Ore cache region file is full")
+            writeAt(offset, record)
+            header.putInt(entry, offset.toInt())
+            header.putInt(entry + 4, length)
+        }
+
+        /**
+         * Moves every record down to the start of the file, in file order, dropping the dead space between them, and
+         * truncates the file after the last one.
+         */
+        private fun compact() {
+            val indices = (0 until CHUNKS)
+                .filter { header.getInt(TABLE_OFFSET + it * 8 + 4) != 0 }
+                .sortedBy { header.getInt(TABLE_OFFSET + it * 8) }
+            var buffer = ByteBuffer.allocate(0)
+            var cursor = HEADER_SIZE.toLong()
+            for (index in indices) {
+                val entry = TABLE_OFFSET + index * 8
+                val offset = header.getInt(entry).toLong()
+                val length = header.getInt(entry + 4)
+                if (offset != cursor) {
+                    if (buffer.capacity() < length) buffer = ByteBuffer.allocate(length)
+                    buffer.clear().limit(length)
+                    if (!readAt(offset, buffer)) throw IOException("Ore cache region file is truncated")
+                    buffer.flip()
+                    writeAt(cursor, buffer)
+                    header.putInt(entry, cursor.toInt())
+                }
+                cursor += length
+            }
+            channel.truncate(cursor)
+            deadBytes = 0
+        }
+
+        /**
+         * Reads [buffer] fully from [offset].
+         * @return False if the file ends before the buffer is full.
+         */
+        private fun readAt(offset: Long, buffer: ByteBuffer): Boolean {
+            val start = buffer.position()
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position() - start) < 0) return false
+            }
+            return true
+        }
+
+        private fun writeAt(offset: Long, buffer: ByteBuffer) {
+            val start = buffer.position()
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position() - start)
+            }
+        }
+
+        fun close() {
+            header.force()
+            channel.close()
+        }
+    }
+
+    companion object {
+        /**
+         * Identifies an ore cache region file, "GORE".
+         */
+        private const val MAGIC = 0x474F5245
+
+        /**
+         * The version of the region file format. Files of any other version are discarded.
+         */
+        private const val VERSION = 4
+
+        /**
+         * Set in the flags of a record that holds every ore.
+         */
+        private const val FLAG_COMPLETE = 1
+
+        private const val TABLE_OFFSET = 8
+
+        /**
+         * The number of chunks in a region.
+         */
+        private const val CHUNKS = 32 * 32
+
+        /**
+         * The size of the header: magic, version, and an offset and length per chunk.
+         */
+        private const val HEADER_SIZE = TABLE_OFFSET + CHUNKS * 8
+
+        /**
+         * The dead space a region file needs before it is compacted, so small files are not rewritten over and over.
+         */
+        private const val MIN_COMPACT_BYTES = 1L shl 20
+
+        /**
+         * How many region files are kept open at once.
+         */
+        private const val MAX_OPEN_REGIONS = 16
+
+        /**
+         * The open caches by directory.
+         */
+        private val instances = HashMap<Path, OreRegionCache>()
+
+        /**
+         * Gets the index of the chunk at [chunkPos] within its region.
+         */
+        private fun indexOf(chunkPos: ChunkPos): Int {
+            return (chunkPos.z and 31 shl 5) or (chunkPos.x and 31)
+        }
+
+        /**
+         * Gets the cache of the given world, which must be closed once it is no longer used.
+         * @param seed The world seed.
+         * @param dimension The dimension.
+         * @param minY The lowest y coordinate of the dimension.
+         * @param height The logical height of the dimension.
+         * @return The cache.
+         */
+        fun of(seed: Long, dimension: Dimension, minY: Int, height: Int): OreRegionCache {
+            val ores = Integer.toHexString(Ore.fingerprint(dimension, minY, height))
+            val directory = GavinsModClient.minecraftClient.runDirectory.toPath()
+                .resolve("mods").resolve("gavinsmod").resolve("orecache")
+                .resolve(dimension.dimension).resolve("${seed}_${minY}_${height}_$ores")
+            synchronized(instances) {
+                val cache = instances.getOrPut(directory) { OreRegionCache(directory) }
+                cache.references++
+                return cache
+            }
+        }
+    }
+}
@@ -29,11 +29,11 @@ import com.peasenet.util.listeners.AirStrafeListener
  * The event when the player is air strafing.
  * @param speed The speed of the player.
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class AirStrafeEvent(var speed: Float) : Event<AirStrafeListener> {
-    override fun fire(listeners: ArrayList<AirStrafeListener>) {
+    override fun fire(listeners: Array<AirStrafeListener>) {
         for (listener in listeners) {
             listener.onAirStrafe(this)
         }
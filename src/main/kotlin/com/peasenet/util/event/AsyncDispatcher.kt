@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.event
+
+import com.peasenet.main.GavinsMod
+import com.peasenet.util.listeners.Listener
+import java.util.concurrent.ArrayBlockingQueue
+
+/**
+ * Delivers [AsyncEvent]s to the listeners that subscribed with `async = true`, off the thread that fired them.
+ *
+ * Snapshots are put on a bounded queue that a single daemon thread drains. Events with a [AsyncEvent.coalesceKey]
+ * that are still queued are merged, so a block that changes many times while the queue catches up is only delivered
+ * once. If the queue is full, the event is delivered on the calling thread instead, so it is never lost.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+object AsyncDispatcher {
+
+    /**
+     * The maximum number of queued events.
+     */
+    const val CAPACITY = 4096
+
+    private val queue = ArrayBlockingQueue<Pending<*>>(CAPACITY)
+
+    init {
+        val thread = Thread(::drain, "gem-event-dispatch")
+        thread.isDaemon = true
+        thread.priority = Thread.NORM_PRIORITY - 1
+        thread.start()
+    }
+
+    /**
+     * Queues a snapshot of [event] for the async listeners of [registry].
+     */
+    fun <L : Listener> post(event: AsyncEvent<L>, registry: ListenerRegistry<L>) {
+        val snapshot = event.snapshot()
+        val key = snapshot.coalesceKey
+        if (key == AsyncEvent.NO_KEY) {
+            if (!queue.offer(Pending(snapshot, registry, key))) snapshot.fire(registry.asyncListeners)
+            return
+        }
+        var overflow = false
+        registry.pending.compute(key) { _, queued ->
+            if (queued != null) {
+                queued.event = queued.event.coalesce(snapshot)
+                queued
+            } else {
+                val pending = Pending(snapshot, registry, key)
+                overflow = !queue.offer(pending)
+                if (overflow) null else pending
+            }
+        }
+        if (overflow) snapshot.fire(registry.asyncListeners)
+    }
+
+    private fun drain() {
+        while (true) {
+            val pending = queue.take()
+            try {
+                pending.deliver()
+            } catch (e: Exception) {
+                GavinsMod.LOGGER.error("An async event listener failed", e)
+            }
+        }
+    }
+
+    /**
+     * A queued event.
+     *
+     * @param event The snapshot to deliver, replaced when a newer event is merged into it.
+     * @param registry The registry of the listeners to deliver to.
+     * @param key The [AsyncEvent.coalesceKey] of the event.
+     */
+    class Pending<L : Listener>(
+        @Volatile var event: AsyncEvent<L>,
+        private val registry: ListenerRegistry<L>,
+        private val key: Long,
+    ) {
+        /**
+         * Fires the event to the current async listeners. Once removed from [ListenerRegistry.pending], newer events
+         * are queued again instead of merged, so none is missed.
+         */
+        fun deliver() {
+            if (key != AsyncEvent.NO_KEY) registry.pending.remove(key, this)
+            val listeners = registry.asyncListeners
+            if (listeners.isNotEmpty()) event.fire(listeners)
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.event
+
+import com.peasenet.util.listeners.Listener
+
+/**
+ * An event that can be delivered to listeners that subscribed with `async = true`. Such listeners are not called on the
+ * thread that fired the event; [AsyncDispatcher] queues a [snapshot] of the event and fires it from its own thread.
+ *
+ * @param T The type of listener to manage.
+ * @see AsyncDispatcher
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+interface AsyncEvent<T : Listener> : Event<T> {
+    /**
+     * Creates an immutable copy of this event, that stays valid after the event is reused.
+     */
+    fun snapshot(): AsyncEvent<T>
+
+    /**
+     * The key that identifies what this event is about, such as a block position, or [NO_KEY]. While an event is
+     * queued, newer events with the same key are merged into it with [coalesce] instead of being queued as well.
+     */
+    val coalesceKey: Long
+        get() = NO_KEY
+
+    /**
+     * Merges a newer snapshot with the same [coalesceKey] into this queued one.
+     *
+     * @param newer The newer snapshot.
+     * @return The snapshot to deliver instead of both.
+     */
+    fun coalesce(newer: AsyncEvent<T>): AsyncEvent<T> {
+        return newer
+    }
+
+    companion object {
+        /**
+         * The [coalesceKey] of events that are never merged.
+         */
+        const val NO_KEY = Long.MIN_VALUE
+    }
+}
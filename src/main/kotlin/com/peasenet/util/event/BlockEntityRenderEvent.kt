@@ -25,19 +25,24 @@ package com.peasenet.util.event
 
 import com.peasenet.util.event.data.BlockEntityRender
 import com.peasenet.util.listeners.BlockEntityRenderListener
+import com.mojang.blaze3d.vertex.BufferBuilder
+import com.mojang.blaze3d.vertex.PoseStack
+import net.minecraft.world.level.block.entity.BlockEntity
+import net.minecraft.world.phys.Vec3
 
 /**
  * The event for when a block entity is rendered. This event can be cancelled.
  * @param ber The [BlockEntityRender] data.
  * @see CancellableEvent
+ * @see get
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class BlockEntityRenderEvent(ber: BlockEntityRender) : CancellableEvent<BlockEntityRenderListener>() {
     private var entityRender: BlockEntityRender = ber
 
-    override fun fire(listeners: ArrayList<BlockEntityRenderListener>) {
+    override fun fire(listeners: Array<BlockEntityRenderListener>) {
         for (listener in listeners) {
             listener.onRenderBlockEntity(entityRender)
             if (entityRender.isCancelled) cancel()
@@ -46,4 +51,40 @@ class BlockEntityRenderEvent(ber: BlockEntityRender) : CancellableEvent<BlockEnt
 
     override val event: Class<BlockEntityRenderListener>
         get() = BlockEntityRenderListener::class.java
+
+    companion object {
+        /**
+         * The reused instance of each thread.
+         */
+        private val INSTANCE = ThreadLocal<BlockEntityRenderEvent>()
+
+        /**
+         * Gets the [BlockEntityRenderEvent] instance of the current thread, reset for the given block entity. The
+         * instance is only valid until the next call on the same thread.
+         * @see BlockEntityRender
+         */
+        @JvmStatic
+        fun get(
+            entity: BlockEntity,
+            stack: PoseStack?,
+            buffer: BufferBuilder?,
+            center: Vec3?,
+            playerPos: Vec3?,
+            delta: Float,
+        ): BlockEntityRenderEvent {
+            val instance = INSTANCE.get()
+                ?: return BlockEntityRenderEvent(BlockEntityRender(entity, stack, buffer, center, playerPos, delta))
+                    .also(INSTANCE::set)
+            instance.reset()
+            val data = instance.entityRender
+            data.reset()
+            data.entity = entity
+            data.stack = stack
+            data.buffer = buffer
+            data.center = center
+            data.playerPos = playerPos
+            data.delta = delta
+            return instance
+        }
+    }
 }
\ No newline at end of file
@@ -26,24 +26,69 @@ package com.peasenet.util.event
 
 import com.peasenet.util.event.data.BlockUpdate
 import com.peasenet.util.listeners.BlockUpdateListener
+import net.minecraft.core.BlockPos
+import net.minecraft.world.level.block.state.BlockState
 
 /**
  * Called when a block is updated.
  * @param blockUpdateData The [BlockUpdate] data.
  * @see BlockUpdateListener
+ * @see get
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
-class BlockUpdateEvent(private var blockUpdateData: BlockUpdate) : Event<BlockUpdateListener> {
+class BlockUpdateEvent(private var blockUpdateData: BlockUpdate) : AsyncEvent<BlockUpdateListener> {
 
-    override fun fire(listeners: ArrayList<BlockUpdateListener>) {
+    override fun fire(listeners: Array<BlockUpdateListener>) {
         for (listener in listeners) {
             listener.onBlockUpdate(blockUpdateData)
         }
     }
 
+    override fun snapshot(): AsyncEvent<BlockUpdateListener> {
+        val data = blockUpdateData
+        return BlockUpdateEvent(BlockUpdate(data.blockPos.immutable(), data.newState, data.oldState))
+    }
+
+    override val coalesceKey: Long
+        get() = blockUpdateData.blockPos.asLong()
+
+    /**
+     * Merges the updates of the same block into one, from the old state of this update to the new state of [newer].
+     */
+    override fun coalesce(newer: AsyncEvent<BlockUpdateListener>): AsyncEvent<BlockUpdateListener> {
+        val data = (newer as BlockUpdateEvent).blockUpdateData
+        return BlockUpdateEvent(BlockUpdate(data.blockPos, data.newState, blockUpdateData.oldState))
+    }
+
     override val event: Class<BlockUpdateListener>
         get() = BlockUpdateListener::class.java
+
+    companion object {
+        /**
+         * The reused instance of each thread. Blocks are set thousands of times per tick while chunks load, so the
+         * event and its data are only built once per thread.
+         */
+        private val INSTANCE = ThreadLocal<BlockUpdateEvent>()
+
+        /**
+         * Gets the [BlockUpdateEvent] instance of the current thread, updated with the given data. The instance is only
+         * valid until the next call on the same thread.
+         * @param blockPos The position of the block.
+         * @param newState The new state of the block.
+         * @param oldState The old state of the block.
+         */
+        @JvmStatic
+        fun get(blockPos: BlockPos, newState: BlockState, oldState: BlockState): BlockUpdateEvent {
+            val instance = INSTANCE.get()
+                ?: return BlockUpdateEvent(BlockUpdate(blockPos, newState, oldState)).also(INSTANCE::set)
+            val data = instance.blockUpdateData
+            data.blockPos = blockPos
+            data.newState = newState
+            data.oldState = oldState
+            return instance
+        }
+    }
 }
\ No newline at end of file
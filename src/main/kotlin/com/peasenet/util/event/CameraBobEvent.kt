@@ -32,13 +32,13 @@ import com.peasenet.util.listeners.CameraBobListener
  * @see CameraBobListener
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class CameraBobEvent : CancellableEvent<CameraBobListener>() {
     private var cameraBob: CameraBob = CameraBob()
 
-    override fun fire(listeners: ArrayList<CameraBobListener>) {
+    override fun fire(listeners: Array<CameraBobListener>) {
         for (listener in listeners) {
             listener.onCameraViewBob(cameraBob)
             if (cameraBob.isCancelled) cancel()
@@ -31,13 +31,13 @@ import com.peasenet.util.listeners.CameraHurtListener
  * @see CancellableEvent
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class CameraHurtEvent : CancellableEvent<CameraHurtListener>() {
     private var cameraBob: CameraBob = CameraBob()
 
-    override fun fire(listeners: ArrayList<CameraHurtListener>) {
+    override fun fire(listeners: Array<CameraHurtListener>) {
         for (listener in listeners) {
             listener.onCameraViewBob(cameraBob)
             if (cameraBob.isCancelled) cancel()
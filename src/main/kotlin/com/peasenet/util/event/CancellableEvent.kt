@@ -31,7 +31,7 @@ import com.peasenet.util.listeners.Listener
  * @see Listener
  * @see Event
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 abstract class CancellableEvent<T : Listener> : Event<T> {
@@ -47,4 +47,11 @@ abstract class CancellableEvent<T : Listener> : Event<T> {
     fun cancel() {
         isCancelled = true
     }
+
+    /**
+     * Clears the cancellation, so a reused instance can be fired again.
+     */
+    open fun reset() {
+        isCancelled = false
+    }
 }
\ No newline at end of file
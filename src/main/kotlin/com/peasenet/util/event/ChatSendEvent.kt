@@ -32,13 +32,13 @@ import com.peasenet.util.listeners.OnChatSendListener
  * @see OnChatSendListener
  * @param msg The message sent.
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class ChatSendEvent(msg: String) : CancellableEvent<OnChatSendListener>() {
     var message: ChatMessage = ChatMessage(msg)
 
-    override fun fire(listeners: ArrayList<OnChatSendListener>) {
+    override fun fire(listeners: Array<OnChatSendListener>) {
         for (listener in listeners) {
             listener.onChatSend(message)
             if (message.isCancelled) cancel()
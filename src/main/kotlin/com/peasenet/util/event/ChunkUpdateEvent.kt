@@ -26,23 +26,45 @@ package com.peasenet.util.event
 
 import com.peasenet.util.event.data.ChunkUpdate
 import com.peasenet.util.listeners.ChunkUpdateListener
+import net.minecraft.world.level.chunk.LevelChunk
 
 /**
- * Called when a chunk is updated.
+ * Called when a chunk is updated. Unlike [BlockUpdateEvent] this is not an [AsyncEvent]: listeners read the live chunk,
+ * which is only safe on the thread that loaded it.
  * @param chunkUpdate The [ChunkUpdate] data.
  * @see Event
  * @see ChunkUpdate
+ * @see get
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class ChunkUpdateEvent(private val chunkUpdate: ChunkUpdate) : Event<ChunkUpdateListener> {
 
-    override fun fire(listeners: ArrayList<ChunkUpdateListener>) {
+    override fun fire(listeners: Array<ChunkUpdateListener>) {
         listeners.forEach { it.onChunkUpdate(chunkUpdate) }
     }
 
     override val event: Class<ChunkUpdateListener>
         get() = ChunkUpdateListener::class.java
+
+    companion object {
+        /**
+         * The reused instance of each thread.
+         */
+        private val INSTANCE = ThreadLocal<ChunkUpdateEvent>()
+
+        /**
+         * Gets the [ChunkUpdateEvent] instance of the current thread, updated with the given chunk. The instance is only
+         * valid until the next call on the same thread.
+         * @param chunk The chunk that was updated.
+         */
+        @JvmStatic
+        fun get(chunk: LevelChunk): ChunkUpdateEvent {
+            val instance = INSTANCE.get() ?: return ChunkUpdateEvent(ChunkUpdate(chunk)).also(INSTANCE::set)
+            instance.chunkUpdate.chunk = chunk
+            return instance
+        }
+    }
 }
\ No newline at end of file
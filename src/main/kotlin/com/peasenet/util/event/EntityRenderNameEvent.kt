@@ -36,9 +36,10 @@ import net.minecraft.world.entity.LivingEntity
  * @see EntityRenderNameListener
  * @see com.peasenet.mods.render.ModHealthTag
  * @see EntityNameRender
+ * @see get
  *
  * @author GT3CH1
- * @version 01-12-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  *
  * @sample com.peasenet.mods.render.ModHealthTag
@@ -52,7 +53,7 @@ class EntityRenderNameEvent(
     private var entityRender: EntityNameRender = data
     var eventData: Component? = null
         private set
-    override fun fire(listeners: ArrayList<EntityRenderNameListener>) {
+    override fun fire(listeners: Array<EntityRenderNameListener>) {
         for (listener in listeners) {
             listener.onEntityNameRender(entityRender)
             eventData = entityRender.nameTag
@@ -66,6 +67,32 @@ class EntityRenderNameEvent(
 
 
 
+    override fun reset() {
+        super.reset()
+        entityRender.reset()
+        eventData = null
+    }
+
     override val event: Class<EntityRenderNameListener>
         get() = EntityRenderNameListener::class.java
+
+    companion object {
+        /**
+         * The reused instance of each thread. The render state of every visible entity is extracted each frame.
+         */
+        private val INSTANCE = ThreadLocal<EntityRenderNameEvent>()
+
+        /**
+         * Gets the [EntityRenderNameEvent] instance of the current thread, reset for the given entity. The instance is
+         * only valid until the next call on the same thread.
+         * @param entity The entity whose name is rendered.
+         */
+        @JvmStatic
+        fun get(entity: LivingEntity): EntityRenderNameEvent {
+            val instance = INSTANCE.get() ?: return EntityRenderNameEvent(entity).also(INSTANCE::set)
+            instance.reset()
+            instance.entityRender.entity = entity
+            return instance
+        }
+    }
 }
\ No newline at end of file
@@ -30,16 +30,16 @@ import com.peasenet.util.listeners.Listener
  * @see Listener
  * @param T The type of event to manage.
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 interface Event<T : Listener> {
     /**
      * Fires the event.
      *
-     * @param listeners - The listeners to fire the event to.
+     * @param listeners - The listeners to fire the event to. The array must not be modified.
      */
-    fun fire(listeners: ArrayList<T>)
+    fun fire(listeners: Array<T>)
 
     /**
      * Gets the event class.
@@ -29,8 +29,12 @@ import com.peasenet.util.listeners.Listener
  * An event manager that allows for [Listener]s to subscribe to their corresponding events, as well for calling and
  * managing those events.
  *
+ * The listeners of each listener type are kept in a [ListenerRegistry], a copy-on-write array, so events can be fired
+ * from any thread while mods subscribe and unsubscribe. While [EventProfiler] is enabled, events are fired through it.
+ * Listeners that subscribe with `async = true` get [AsyncEvent]s from [AsyncDispatcher] instead.
+ *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 open class EventManager {
@@ -43,11 +47,12 @@ open class EventManager {
      * will be called when the corresponding event is fired.
      * @param event    The event class.
      * @param listener The listener to add.
+     * @param async    Whether the listener is called from [AsyncDispatcher], off the thread that fires the event. Only
+     * [AsyncEvent]s are delivered asynchronously, other events are still delivered on the firing thread.
      */
-    @Suppress("UNCHECKED_CAST")
-    fun <L : Listener> subscribe(event: Class<L>, listener: L) {
-        eventMap.computeIfAbsent(event) { _: Class<out Listener?>? -> ArrayList() }
-        (eventMap[event] as ArrayList<L>).add(listener)
+    @JvmOverloads
+    fun <L : Listener> subscribe(event: Class<L>, listener: L, async: Boolean = false) {
+        registry(event).subscribe(listener, async)
     }
 
     /**
@@ -63,11 +68,9 @@ open class EventManager {
      * not being called.
      */
     fun <L : Listener> unsubscribe(event: Class<L>, listener: L) {
-        try {
-            eventMap[event]!!.remove(listener)
-        } catch (e: NullPointerException) {
-            throw IllegalArgumentException("Listener not found. Please report this error.")
-        }
+        val registry = registry(event)
+        if (!registry.used) throw IllegalArgumentException("Listener not found. Please report this error.")
+        registry.unsubscribe(listener)
     }
 
     /**
@@ -78,18 +81,60 @@ open class EventManager {
      * will call all [com.peasenet.util.listeners.EntityRenderNameListener]s with the given [com.peasenet.util.event.EntityRenderNameEvent]
      * @param event The event to fire.
      */
-    @Suppress("UNCHECKED_CAST")
     fun <L : Listener, E : Event<L>> call(event: E) {
-        // get all listeners for the event
-        val listeners = eventMap[event.event] ?: return
+        val registry = registry(event.event)
+        val asyncListeners = registry.asyncListeners
+        if (asyncListeners.isNotEmpty()) {
+            @Suppress("UNCHECKED_CAST")
+            if (event is AsyncEvent<*>) AsyncDispatcher.post(event as AsyncEvent<L>, registry)
+            else event.fire(asyncListeners)
+        }
+        val listeners = registry.listeners
+        if (listeners.isEmpty()) return
+        if (EventProfiler.enabled) {
+            EventProfiler.fire(event, registry)
+            return
+        }
+        event.fire(listeners)
+    }
 
-        event.fire(listeners as ArrayList<L>)
+    /**
+     * Whether any listener of the given type is subscribed. High frequency events are only built after checking this,
+     * so nothing is allocated or reset while nobody listens. For example:
+     * ~~~
+     * if (hasListeners(BlockUpdateListener::class.java)) call(BlockUpdateEvent.get(pos, newState, oldState))
+     * ~~~
+     * @param event The listener type.
+     * @return Whether [call] would reach any listener.
+     */
+    fun <L : Listener> hasListeners(event: Class<L>): Boolean {
+        return registry(event).hasListeners
     }
 
 
     companion object {
-        // a list of event classes with the mod that created them
-        protected val eventMap = HashMap<Class<out Listener>, ArrayList<Listener>>()
+        /**
+         * The listener registry of each listener type. A [ClassValue] is stored on the class itself, so looking up the
+         * registry of an event is a field read rather than a hash map lookup.
+         */
+        private val registries = object : ClassValue<ListenerRegistry<*>>() {
+            override fun computeValue(type: Class<*>): ListenerRegistry<*> {
+                @Suppress("UNCHECKED_CAST")
+                return ListenerRegistry(type as Class<Listener>)
+            }
+        }
+
+        /**
+         * Gets the listener registry of the given listener type.
+         *
+         * @param event The listener type.
+         * @return The registry.
+         */
+        @Suppress("UNCHECKED_CAST")
+        fun <L : Listener> registry(event: Class<L>): ListenerRegistry<L> {
+            return registries.get(event) as ListenerRegistry<L>
+        }
+
         @JvmStatic
         val eventManager = EventManager()
     }
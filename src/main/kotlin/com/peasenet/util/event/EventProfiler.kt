@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.event
+
+import com.peasenet.util.listeners.Listener
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+import kotlin.math.min
+
+/**
+ * Optional instrumentation of [EventManager.call]. While [enabled], every event is fired to its listeners one at a
+ * time and the time each listener takes is recorded, as well as the time of the whole event, so the listener that
+ * eats the frame time can be found. While disabled, events are fired as usual and nothing is recorded.
+ *
+ * @see Timings
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+object EventProfiler {
+
+    /**
+     * The number of recent invocations each [Timings] keeps for its percentiles. Must be a power of two.
+     */
+    const val SAMPLES = 1024
+
+    /**
+     * Whether events are being profiled.
+     */
+    @Volatile
+    var enabled = false
+        private set
+
+    /**
+     * Every [Timings] that was created, for [report].
+     */
+    private val timings = CopyOnWriteArrayList<Timings>()
+
+    /**
+     * Clears all recorded timings and starts profiling.
+     */
+    fun start() {
+        reset()
+        enabled = true
+    }
+
+    /**
+     * Stops profiling. The recorded timings are kept until the next [start] or [reset].
+     */
+    fun stop() {
+        enabled = false
+    }
+
+    /**
+     * Clears all recorded timings.
+     */
+    fun reset() {
+        timings.forEach(Timings::reset)
+    }
+
+    /**
+     * Creates the timings of an event type or a single listener.
+     *
+     * @param name The name shown in [report].
+     * @param listener Whether these are the timings of a single listener, rather than of a whole event type.
+     */
+    fun timings(name: String, listener: Boolean): Timings {
+        return Timings(name, listener).also(timings::add)
+    }
+
+    /**
+     * Fires [event] to every listener of [registry] separately, recording the time of each listener and of the whole
+     * event.
+     */
+    fun <L : Listener> fire(event: Event<L>, registry: ListenerRegistry<L>) {
+        val start = System.nanoTime()
+        for (profiled in registry.profiled) {
+            val listenerStart = System.nanoTime()
+            event.fire(profiled.listeners)
+            profiled.timings.record(System.nanoTime() - listenerStart)
+        }
+        registry.timings.record(System.nanoTime() - start)
+    }
+
+    /**
+     * Gets the timings that recorded anything, the most expensive first.
+     *
+     * @param listeners Whether to get the timings of single listeners, or of whole event types.
+     */
+    fun report(listeners: Boolean): List<Timings> {
+        return timings.filter { it.listener == listeners && it.count > 0 }.sortedByDescending { it.totalNanos }
+    }
+
+    /**
+     * The invocation count, the cumulative time and the most recent [SAMPLES] times of an event type or a listener.
+     * Recording is lock free, so it can be called from any thread; a sample that is overwritten while [percentile]
+     * copies the buffer only skews that one report.
+     *
+     * @param name The name of the event type or listener.
+     * @param listener Whether these are the timings of a single listener.
+     */
+    class Timings(val name: String, val listener: Boolean) {
+        private val samples = LongArray(SAMPLES)
+        private val cursor = AtomicLong()
+        private val total = LongAdder()
+
+        /**
+         * The number of recorded invocations.
+         */
+        val count: Long
+            get() = cursor.get()
+
+        /**
+         * The cumulative time of all recorded invocations, in nanoseconds.
+         */
+        val totalNanos: Long
+            get() = total.sum()
+
+        /**
+         * Records a single invocation that took [nanos] nanoseconds.
+         */
+        fun record(nanos: Long) {
+            samples[(cursor.getAndIncrement() and (SAMPLES - 1).toLong()).toInt()] = nanos
+            total.add(nanos)
+        }
+
+        /**
+         * Gets the given percentile of the most recent invocations.
+         *
+         * @param percentile The percentile, from 0 to 1.
+         * @return The time in nanoseconds, or 0 if nothing was recorded.
+         */
+        fun percentile(percentile: Double): Long {
+            val size = min(count, SAMPLES.toLong()).toInt()
+            if (size == 0) return 0
+            val sorted = samples.copyOf(size)
+            sorted.sort()
+            return sorted[((size - 1) * percentile).toInt()]
+        }
+
+        /**
+         * Gets a one line summary of these timings: the invocation count, the cumulative time and the p50 and p99 of
+         * the most recent invocations, in milliseconds.
+         */
+        fun summary(): String {
+            return "%s: %d calls, %.1f ms total, p50 %.3f ms, p99 %.3f ms".format(
+                name, count, totalNanos / 1e6, percentile(0.5) / 1e6, percentile(0.99) / 1e6
+            )
+        }
+
+        /**
+         * Clears everything that was recorded.
+         */
+        fun reset() {
+            cursor.set(0)
+            total.reset()
+        }
+    }
+}
@@ -32,11 +32,11 @@ import net.minecraft.client.gui.GuiGraphicsExtractor
  * @param delta The tick delta.
  * @see InGameHudRenderListener
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class InGameHudRenderEvent(private var drawContext: GuiGraphicsExtractor, var delta: Float) : Event<InGameHudRenderListener> {
-    override fun fire(listeners: ArrayList<InGameHudRenderListener>) {
+    override fun fire(listeners: Array<InGameHudRenderListener>) {
         for (listener in listeners) {
             listener.onRenderInGameHud(drawContext, delta)
         }
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.event
+
+import com.peasenet.util.listeners.Listener
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The listeners of a single listener type, kept as an array that is replaced, never modified, whenever a listener
+ * subscribes or unsubscribes. Firing an event reads the current array once and loops over it, so it never locks and is
+ * never affected by listeners (un)subscribing at the same time, from any thread.
+ *
+ * @param type The listener type.
+ * @param L The listener type.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class ListenerRegistry<L : Listener>(private val type: Class<L>) {
+
+    /**
+     * The current listeners. The array has the component type [type], so it can be passed to [Event.fire] as is.
+     */
+    @Volatile
+    var listeners: Array<L> = newArray(0)
+        private set
+
+    /**
+     * Whether a listener has ever subscribed.
+     */
+    @Volatile
+    var used = false
+        private set
+
+    /**
+     * The listeners that subscribed with `async = true`, delivered to by [AsyncDispatcher] rather than on the thread
+     * that fires the event. Kept the same way as [listeners].
+     */
+    @Volatile
+    var asyncListeners: Array<L> = newArray(0)
+        private set
+
+    /**
+     * The queued [AsyncDispatcher] events of this listener type by [AsyncEvent.coalesceKey].
+     */
+    val pending = ConcurrentHashMap<Long, AsyncDispatcher.Pending<L>>()
+
+    /**
+     * Whether any listener is subscribed, sync or async.
+     */
+    val hasListeners: Boolean
+        get() = listeners.isNotEmpty() || asyncListeners.isNotEmpty()
+
+    /**
+     * The [EventProfiler] timings of the whole event type.
+     */
+    val timings: EventProfiler.Timings by lazy { EventProfiler.timings(type.simpleName, false) }
+
+    /**
+     * The [EventProfiler] timings of each listener that ever subscribed, kept across unsubscribing.
+     */
+    private val listenerTimings = HashMap<L, EventProfiler.Timings>()
+
+    /**
+     * The current listeners for [EventProfiler], built on first use after the listeners change.
+     */
+    @Volatile
+    private var profiledListeners: List<ProfiledListener<L>>? = null
+
+    /**
+     * The current listeners, each with its own one element array to fire it alone, and its timings.
+     */
+    val profiled: List<ProfiledListener<L>>
+        get() = profiledListeners ?: buildProfiled()
+
+    /**
+     * Adds the given listener, unless it is already subscribed.
+     *
+     * @param listener The listener to add.
+     * @param async Whether the listener is added to [asyncListeners] rather than [listeners].
+     */
+    @Synchronized
+    fun subscribe(listener: L, async: Boolean = false) {
+        used = true
+        if (listeners.contains(listener) || asyncListeners.contains(listener)) return
+        if (async) {
+            asyncListeners = append(asyncListeners, listener)
+        } else {
+            listeners = append(listeners, listener)
+            profiledListeners = null
+        }
+    }
+
+    /**
+     * Removes the given listener.
+     *
+     * @param listener The listener to remove.
+     * @return Whether the listener was subscribed.
+     */
+    @Synchronized
+    fun unsubscribe(listener: L): Boolean {
+        remove(listeners, listener)?.let {
+            listeners = it
+            profiledListeners = null
+            return true
+        }
+        remove(asyncListeners, listener)?.let {
+            asyncListeners = it
+            return true
+        }
+        return false
+    }
+
+    private fun append(current: Array<L>, listener: L): Array<L> {
+        val updated = current.copyOf(current.size + 1)
+        updated[current.size] = listener
+        @Suppress("UNCHECKED_CAST")
+        return updated as Array<L>
+    }
+
+    /**
+     * Copies [current] without [listener].
+     * @return The copy, or null if [listener] is not in [current].
+     */
+    private fun remove(current: Array<L>, listener: L): Array<L>? {
+        val index = current.indexOf(listener)
+        if (index < 0) return null
+        val updated = newArray(current.size - 1)
+        System.arraycopy(current, 0, updated, 0, index)
+        System.arraycopy(current, index + 1, updated, index, current.size - index - 1)
+        return updated
+    }
+
+    @Synchronized
+    private fun buildProfiled(): List<ProfiledListener<L>> {
+        profiledListeners?.let { return it }
+        val profiled = listeners.map { listener ->
+            val single = newArray(1)
+            single[0] = listener
+            val timings = listenerTimings.getOrPut(listener) {
+                EventProfiler.timings("${listener.javaClass.simpleName} (${type.simpleName})", true)
+            }
+            ProfiledListener(single, timings)
+        }
+        profiledListeners = profiled
+        return profiled
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun newArray(size: Int): Array<L> {
+        return java.lang.reflect.Array.newInstance(type, size) as Array<L>
+    }
+
+    /**
+     * A single listener as seen by [EventProfiler].
+     *
+     * @param listeners An array holding only the listener, to pass to [Event.fire].
+     * @param timings The timings of the listener.
+     */
+    class ProfiledListener<L : Listener>(val listeners: Array<L>, val timings: EventProfiler.Timings)
+}
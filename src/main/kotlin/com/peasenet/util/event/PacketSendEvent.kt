@@ -33,13 +33,13 @@ import net.minecraft.network.protocol.Packet
  * @see CancellableEvent
  * @see PacketSendListener
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class PacketSendEvent(packet: Packet<*>) : CancellableEvent<PacketSendListener>() {
     var packet: OutputPacket = OutputPacket(packet)
 
-    override fun fire(listeners: ArrayList<PacketSendListener>) {
+    override fun fire(listeners: Array<PacketSendListener>) {
         for (listener in listeners) {
             listener.onPacketSend(packet)
             if (packet.isCancelled) cancel()
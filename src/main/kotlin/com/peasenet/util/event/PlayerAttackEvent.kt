@@ -29,11 +29,11 @@ import com.peasenet.util.listeners.PlayerAttackListener
  * An event for when the player attacks an entity.
  * @see PlayerAttackListener
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class PlayerAttackEvent : Event<PlayerAttackListener> {
-    override fun fire(listeners: ArrayList<PlayerAttackListener>) {
+    override fun fire(listeners: Array<PlayerAttackListener>) {
         for (listener in listeners) {
             listener.onAttackEntity()
         }
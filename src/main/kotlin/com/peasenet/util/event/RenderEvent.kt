@@ -33,7 +33,7 @@ import org.joml.Matrix3x2fStack
  * @see RenderListener
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class RenderEvent : Event<RenderListener> {
@@ -55,7 +55,7 @@ class RenderEvent : Event<RenderListener> {
         }
     }
 
-    override fun fire(listeners: ArrayList<RenderListener>) {
+    override fun fire(listeners: Array<RenderListener>) {
         for (listener in listeners) {
             listener.onRender(matrixStack, partialTicks)
         }
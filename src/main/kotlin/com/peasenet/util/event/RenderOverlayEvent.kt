@@ -33,12 +33,12 @@ import com.peasenet.util.listeners.RenderOverlayListener
  * @see RenderOverlayListener
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class RenderOverlayEvent
     (private var renderOverlay: RenderOverlay) : CancellableEvent<RenderOverlayListener>() {
-    override fun fire(listeners: ArrayList<RenderOverlayListener>) {
+    override fun fire(listeners: Array<RenderOverlayListener>) {
         for (listener in listeners) {
             listener.onRenderOverlay(renderOverlay)
             if (renderOverlay.isCancelled) cancel()
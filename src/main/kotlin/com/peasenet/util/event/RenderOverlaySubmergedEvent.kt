@@ -33,12 +33,12 @@ import com.peasenet.util.listeners.RenderSubmergedOverlayListener
  * @see RenderSubmergedOverlayListener
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class RenderOverlaySubmergedEvent
  (private val overlay: RenderSubmergedOverlay) : CancellableEvent<RenderSubmergedOverlayListener>() {
-    override fun fire(listeners: ArrayList<RenderSubmergedOverlayListener>) {
+    override fun fire(listeners: Array<RenderSubmergedOverlayListener>) {
         for (listener in listeners) {
             listener.onRenderOverlay(overlay)
             if (overlay.isCancelled) cancel()
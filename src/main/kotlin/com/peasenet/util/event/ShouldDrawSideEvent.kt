@@ -25,22 +25,24 @@ package com.peasenet.util.event
 
 import com.peasenet.util.event.data.DrawState
 import com.peasenet.util.listeners.ShouldDrawSideListener
+import net.minecraft.world.level.block.state.BlockState
 
 /**
  * Called when a block is rendered and if the side should be drawn. This event is cancellable.
  * @see CancellableEvent
  * @see ShouldDrawSideListener
- * @param evt - The [DrawState] event.
+ * @param drawState - The [DrawState] event.
+ * @see get
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
-class ShouldDrawSideEvent(private var evt: DrawState) : CancellableEvent<ShouldDrawSideListener>() {
-    override fun fire(listeners: ArrayList<ShouldDrawSideListener>) {
+class ShouldDrawSideEvent(val drawState: DrawState) : CancellableEvent<ShouldDrawSideListener>() {
+    override fun fire(listeners: Array<ShouldDrawSideListener>) {
         for (listener in listeners) {
-            listener.onDrawSide(evt)
-            if (evt.isCancelled) {
+            listener.onDrawSide(drawState)
+            if (drawState.isCancelled) {
                 cancel()
             }
         }
@@ -48,4 +50,26 @@ class ShouldDrawSideEvent(private var evt: DrawState) : CancellableEvent<ShouldD
 
     override val event: Class<ShouldDrawSideListener>
         get() = ShouldDrawSideListener::class.java
+
+    companion object {
+        /**
+         * The reused instance of each thread. Faces are checked for every block of every rebuilt chunk section, on the
+         * section builder threads.
+         */
+        private val INSTANCE = ThreadLocal<ShouldDrawSideEvent>()
+
+        /**
+         * Gets the [ShouldDrawSideEvent] instance of the current thread, reset for the given state. The instance is only
+         * valid until the next call on the same thread.
+         * @param state The state of the block being drawn.
+         */
+        @JvmStatic
+        fun get(state: BlockState): ShouldDrawSideEvent {
+            val instance = INSTANCE.get() ?: return ShouldDrawSideEvent(DrawState(state)).also(INSTANCE::set)
+            instance.reset()
+            instance.drawState.reset()
+            instance.drawState.state = state
+            return instance
+        }
+    }
 }
\ No newline at end of file
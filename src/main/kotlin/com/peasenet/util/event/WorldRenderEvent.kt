@@ -31,7 +31,7 @@ import com.peasenet.util.listeners.WorldRenderListener
  * @param worldRender The world render event.
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 class WorldRenderEvent(worldRender: WorldRender) : Event<WorldRenderListener> {
@@ -40,7 +40,7 @@ class WorldRenderEvent(worldRender: WorldRender) : Event<WorldRenderListener> {
         m_worldRender = worldRender
     }
 
-    override fun fire(listeners: ArrayList<WorldRenderListener>) {
+    override fun fire(listeners: Array<WorldRenderListener>) {
         m_worldRender ?: return
         for (listener in listeners) {
             listener.onWorldRender(m_worldRender!!)
@@ -32,7 +32,7 @@ import net.minecraft.world.phys.Vec3
  * Data class for the block entity render event. This can be cancelled.
  * @see Cancellable
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 data class BlockEntityRender
@@ -48,8 +48,8 @@ data class BlockEntityRender
  */(
     var entity: BlockEntity,
     var stack: PoseStack?,
-    private var buffer: BufferBuilder?,
-    private var center: Vec3?,
-    private var playerPos: Vec3?,
+    var buffer: BufferBuilder?,
+    var center: Vec3?,
+    var playerPos: Vec3?,
     var delta: Float,
 ) : Cancellable()
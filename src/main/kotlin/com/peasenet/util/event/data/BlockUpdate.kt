@@ -33,8 +33,11 @@ import net.minecraft.core.BlockPos
  * @param newState The new state of the block (after update).
  * @param oldState The old state of the block (before update).
  *
+ * The instance passed to listeners is reused for the next update, [blockPos] may even be mutable, so a listener that
+ * keeps the position past its call has to copy it with [BlockPos.immutable].
+ *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 data class BlockUpdate(var blockPos: BlockPos, var newState: BlockState, var oldState: BlockState)
\ No newline at end of file
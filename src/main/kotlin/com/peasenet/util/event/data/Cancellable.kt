@@ -40,4 +40,11 @@ open class Cancellable {
     fun cancel() {
         isCancelled = true
     }
+
+    /**
+     * Clears the cancellation, so a reused instance can be fired again.
+     */
+    open fun reset() {
+        isCancelled = false
+    }
 }
\ No newline at end of file
@@ -31,9 +31,9 @@ import net.minecraft.world.level.chunk.LevelChunk
  * @param chunk The chunk that was updated.
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
 data class ChunkUpdate(
-    val chunk: LevelChunk
+    var chunk: LevelChunk
 )
\ No newline at end of file
@@ -30,10 +30,10 @@ import net.minecraft.world.level.block.state.BlockState
  * @param state The current [BlockState]
  * @see Cancellable
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 03-02-2023
  */
-data class DrawState(val state: BlockState) : Cancellable() {
+data class DrawState(var state: BlockState) : Cancellable() {
     private var shouldDraw: Boolean = true
 
     /**
@@ -50,4 +50,9 @@ data class DrawState(val state: BlockState) : Cancellable() {
     fun shouldDraw(): Boolean {
         return shouldDraw
     }
+
+    override fun reset() {
+        super.reset()
+        shouldDraw = true
+    }
 }
\ No newline at end of file
@@ -41,11 +41,16 @@ import net.minecraft.world.entity.LivingEntity
  * @sample com.peasenet.mods.render.ModHealthTag
  *
  * @author GT3CH1
- * @version 01-12-2025
+ * @version 10-18-2026
  * @since 09-16-2024
  */
 data class EntityNameRender(
-    val entity: LivingEntity,
+    var entity: LivingEntity,
 ) : Cancellable() {
     var nameTag: Component? = null
+
+    override fun reset() {
+        super.reset()
+        nameTag = null
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.executor
+
+import net.minecraft.client.Minecraft
+import net.minecraft.world.level.ChunkPos
+import net.minecraft.world.level.chunk.ChunkAccess
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.PriorityBlockingQueue
+
+/**
+ * A scheduler for chunk scans that runs on the [GemExecutor]. Chunks are scanned nearest to the player first,
+ * repeated requests for a chunk that is still waiting to be scanned are merged into one scan, and chunks that
+ * have left the scan range by the time they are reached are dropped instead of scanned.
+ *
+ * ~~~kotlin
+ * val scheduler = ChunkScanScheduler(this::searchChunk) { pos -> GavChunk.inRenderDistance(pos) }
+ * scheduler.submit(chunk)
+ * ~~~
+ *
+ * @param scan The scan to run for each chunk.
+ * @param inRange Whether the chunk at the given position should still be scanned.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class ChunkScanScheduler(
+    private val scan: (ChunkAccess) -> Unit,
+    private val inRange: (ChunkPos) -> Boolean = { true },
+) {
+    /**
+     * The latest chunk for each chunk position waiting to be scanned, keyed by [ChunkPos.toLong]. Only changed together
+     * with [queue] while holding the scheduler lock, so every pending chunk always has a queued task.
+     */
+    private val pending = ConcurrentHashMap<Long, ChunkAccess>()
+
+    /**
+     * The order in which pending chunks are scanned, nearest to the player first.
+     */
+    private val queue = PriorityBlockingQueue<ScanTask>(64, compareBy { it.distance })
+
+    /**
+     * Schedules the given chunk to be scanned. If the chunk is already waiting to be scanned, it is not queued again.
+     * @param chunk The chunk to scan.
+     */
+    fun submit(chunk: ChunkAccess) {
+        val key = chunk.pos.toLong()
+        val distance = distanceToPlayer(chunk.pos)
+        synchronized(this) {
+            if (pending.put(key, chunk) != null) return
+            queue.add(ScanTask(key, distance))
+        }
+        GemExecutor.execute(this::scanNext)
+    }
+
+    /**
+     * Schedules all the given chunks to be scanned.
+     * @param chunks The chunks to scan.
+     */
+    fun submitAll(chunks: Iterable<ChunkAccess>) {
+        chunks.forEach(this::submit)
+    }
+
+    /**
+     * Drops all chunks waiting to be scanned.
+     */
+    fun clear() {
+        synchronized(this) {
+            queue.clear()
+            pending.clear()
+        }
+    }
+
+    /**
+     * Gets the number of chunks waiting to be scanned.
+     */
+    val size: Int
+        get() = pending.size
+
+    /**
+     * Scans the nearest pending chunk, if it is still in range.
+     */
+    private fun scanNext() {
+        val chunk = synchronized(this) {
+            val task = queue.poll() ?: return
+            pending.remove(task.key) ?: return
+        }
+        if (!inRange(chunk.pos)) return
+        scan(chunk)
+    }
+
+    /**
+     * Gets the squared chunk distance from the player to the given [chunkPos].
+     */
+    private fun distanceToPlayer(chunkPos: ChunkPos): Int {
+        val player = Minecraft.getInstance().player ?: return 0
+        val playerPos = player.chunkPosition()
+        val dx = chunkPos.x - playerPos.x
+        val dz = chunkPos.z - playerPos.z
+        return dx * dx + dz * dz
+    }
+
+    /**
+     * A queued chunk scan.
+     * @param key The [ChunkPos.toLong] of the chunk.
+     * @param distance The squared chunk distance to the player when the chunk was queued.
+     */
+    private data class ScanTask(val key: Long, val distance: Int)
+}
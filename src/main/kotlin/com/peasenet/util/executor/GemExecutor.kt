@@ -24,27 +24,36 @@
 package com.peasenet.util.executor
 
 import java.util.concurrent.ExecutorService
-import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
 import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * The GEM executor is a thread pool that is used to execute compute-intensive tasks.
+ * The pool is a fixed size, work-stealing pool that leaves at least half of the cores to the game,
+ * so that background work (such as chunk scanning) never competes with the render thread for every core.
  *
  * @author GT3CH1
- * @version 01-26-2025
+ * @version 10-18-2026
  * @since 09-16-2024
+ * @see ChunkScanScheduler
  */
 object GemExecutor {
     private var executorService: ExecutorService
 
+    /**
+     * The number of worker threads in the pool.
+     */
+    val parallelism: Int = (Runtime.getRuntime().availableProcessors() / 2).coerceAtLeast(1)
+
     init {
         val corePoolSize = AtomicInteger(1)
-        executorService = Executors.newCachedThreadPool {
-            val thread = Thread(it)
+        executorService = ForkJoinPool(parallelism, { pool ->
+            val thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool)
             thread.isDaemon = true
+            thread.priority = Thread.NORM_PRIORITY - 1
             thread.name = "gem-executor-" + corePoolSize.getAndIncrement()
             thread
-        }
+        }, null, true)
     }
 
     /**
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.math
+
+import com.mojang.blaze3d.vertex.PoseStack
+import net.minecraft.client.Minecraft
+import org.joml.FrustumIntersection
+import org.joml.Matrix4f
+import kotlin.math.min
+
+/**
+ * A view frustum used to cull ESP geometry before any vertices are emitted. It is built from the camera rotation of
+ * the world render pass and a perspective projection for the current field of view, so boxes are tested in camera
+ * relative coordinates.
+ *
+ * The field of view is widened by [FOV_MARGIN] so that dynamic field of view changes (sprinting, speed effects) never
+ * cull something that is on screen; culling a little too little is fine, culling too much is not.
+ *
+ * One instance is meant to be reused across frames by the render thread, see [update].
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class ViewFrustum {
+    private val projection = Matrix4f()
+    private val viewProjection = Matrix4f()
+    private val intersection = FrustumIntersection()
+
+    /**
+     * Updates the frustum for the current frame.
+     * @param matrixStack The world render matrix stack, holding the camera rotation.
+     * @return This frustum.
+     */
+    fun update(matrixStack: PoseStack): ViewFrustum {
+        val client = Minecraft.getInstance()
+        val window = client.window
+        val aspect = window.width.toFloat() / maxOf(window.height, 1)
+        val fov = min(client.options.fov().get() * FOV_MARGIN, MAX_FOV)
+        projection.setPerspective(Math.toRadians(fov).toFloat(), aspect, NEAR_PLANE, Float.POSITIVE_INFINITY)
+        projection.mul(matrixStack.last().pose(), viewProjection)
+        intersection.set(viewProjection, false)
+        return this
+    }
+
+    /**
+     * Tests a camera relative axis aligned box against the frustum.
+     * @return Whether any part of the box may be visible.
+     */
+    fun isVisible(minX: Float, minY: Float, minZ: Float, maxX: Float, maxY: Float, maxZ: Float): Boolean {
+        return intersection.testAab(minX, minY, minZ, maxX, maxY, maxZ)
+    }
+
+    companion object {
+        /**
+         * How much wider than the configured field of view the frustum is.
+         */
+        private const val FOV_MARGIN = 1.5
+
+        /**
+         * The widest vertical field of view, in degrees.
+         */
+        private const val MAX_FOV = 170.0
+
+        private const val NEAR_PLANE = 0.05f
+    }
+}
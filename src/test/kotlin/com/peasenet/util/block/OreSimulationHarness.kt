@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.block
+
+import com.peasenet.util.Dimension
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap
+import net.minecraft.SharedConstants
+import net.minecraft.server.Bootstrap
+import net.minecraft.world.level.ChunkPos
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Runs the ore simulation without a running client, for [OreSimulatorTest] to check that changes to [OreSimulator]
+ * keep producing the same ores, and for `OreSimulatorBenchmark` to measure how fast it is.
+ *
+ * Without a world there are no biomes, so only the ores that can generate in every biome are simulated, see
+ * [OreBiomeTable.universalOres]. For those the result is exactly what ore ESP computes in game.
+ *
+ * Results can be written to and compared against a golden file. The golden file has one line per chunk and ore,
+ * `<chunk x> <chunk z> <ore id> <candidate count> <hash>`, where the hash covers every candidate position, air check
+ * and vein origin in order.
+ *
+ * @param seed The world seed.
+ * @param dimension The dimension to simulate.
+ * @param minY The lowest y coordinate of the dimension.
+ * @param height The logical height of the dimension.
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OreSimulationHarness(
+    private val seed: Long,
+    dimension: Dimension = Dimension.OVERWORLD,
+    minY: Int = -64,
+    height: Int = 384,
+) {
+    /**
+     * The simulated ores.
+     */
+    val ores: List<Ore>
+
+    init {
+        bootstrap()
+        val table = OreBiomeTable(Ore.registry(dimension, minY, height))
+        ores = table.ores(table.universalOres)
+    }
+
+    /**
+     * Simulates the given chunks.
+     *
+     * @param chunks The chunks to simulate.
+     * @return The candidates of each ore by [Ore.id], for each chunk by [ChunkPos.toLong].
+     */
+    fun simulate(chunks: List<ChunkPos>): Map<Long, Int2ObjectOpenHashMap<OreCandidates>> {
+        val result = LinkedHashMap<Long, Int2ObjectOpenHashMap<OreCandidates>>()
+        for (chunk in chunks) {
+            result[chunk.toLong()] = simulate(chunk)
+        }
+        return result
+    }
+
+    /**
+     * Simulates a single chunk.
+     *
+     * @param chunk The chunk to simulate.
+     * @return The candidates of each ore by [Ore.id].
+     */
+    fun simulate(chunk: ChunkPos): Int2ObjectOpenHashMap<OreCandidates> {
+        return OreSimulator.simulate(seed, chunk.x, chunk.z, ores) { _, _, _, _ -> true }
+    }
+
+    /**
+     * Writes the given results to a golden file.
+     *
+     * @param path The golden file.
+     * @param results The results of [simulate].
+     */
+    fun writeGolden(path: Path, results: Map<Long, Int2ObjectOpenHashMap<OreCandidates>>) {
+        Files.createDirectories(path.parent)
+        Files.write(path, goldenLines(results))
+    }
+
+    /**
+     * Compares the given results with a golden file.
+     *
+     * @param path The golden file.
+     * @param results The results of [simulate].
+     * @return A description of every difference, empty if the results match.
+     */
+    fun checkGolden(path: Path, results: Map<Long, Int2ObjectOpenHashMap<OreCandidates>>): List<String> {
+        val expected = Files.readAllLines(path).filter { it.isNotBlank() }.toSet()
+        val actual = goldenLines(results).toSet()
+        return (expected - actual).map { "missing: $it" } + (actual - expected).map { "unexpected: $it" }
+    }
+
+    companion object {
+        private var bootstrapped = false
+
+        /**
+         * Loads the game registries, which the ore table is built from. Only needed once per JVM.
+         */
+        @Synchronized
+        fun bootstrap() {
+            if (bootstrapped) return
+            SharedConstants.tryDetectVersion()
+            Bootstrap.bootStrap()
+            bootstrapped = true
+        }
+
+        /**
+         * Gets the chunks of the square of the given [radius] around the origin.
+         */
+        fun square(radius: Int): List<ChunkPos> {
+            val chunks = ArrayList<ChunkPos>()
+            for (z in -radius..radius) {
+                for (x in -radius..radius) {
+                    chunks.add(ChunkPos(x, z))
+                }
+            }
+            return chunks
+        }
+
+        private fun goldenLines(results: Map<Long, Int2ObjectOpenHashMap<OreCandidates>>): List<String> {
+            val lines = ArrayList<String>()
+            for ((chunk, ores) in results) {
+                for (oreId in ores.keys.toIntArray().sorted()) {
+                    val candidates = ores.get(oreId)
+                    lines.add(
+                        "${ChunkPos.getX(chunk)} ${ChunkPos.getZ(chunk)} $oreId ${candidates.size} " +
+                                java.lang.Long.toHexString(hash(candidates))
+                    )
+                }
+            }
+            return lines
+        }
+
+        /**
+         * A 64-bit FNV-1a hash of the positions, air checks and vein origins of the given candidates.
+         */
+        private fun hash(candidates: OreCandidates): Long {
+            var hash = -0x340d631b7bdddcdbL
+            for (value in candidates.positions + candidates.airChecks + candidates.veins) {
+                hash = (hash xor value) * 0x100000001b3L
+            }
+            return hash
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2025, Gavin C. Pease
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peasenet.util.block
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Checks the seed stage of [OreSimulator] against a golden file of a known seed, so a change that moves a single ore
+ * candidate fails the build.
+ *
+ * The golden file is rewritten instead of checked with `./gradlew test -PwriteOreGolden`, which should only be done
+ * after checking the new result in game.
+ *
+ * @author GT3CH1
+ * @version 10-18-2026
+ * @since 10-18-2026
+ */
+class OreSimulatorTest {
+
+    @Test
+    fun matchesGoldenFile() {
+        val golden = Path.of(System.getProperty("gem.oreGolden", "src/test/resources/golden/ore-overworld-$SEED.txt"))
+        val harness = OreSimulationHarness(SEED)
+        val results = harness.simulate(OreSimulationHarness.square(RADIUS))
+        if (java.lang.Boolean.getBoolean("gem.writeOreGolden")) {
+            harness.writeGolden(golden, results)
+            return
+        }
+        assertTrue(Files.exists(golden), "Missing golden file $golden, write it with ./gradlew test -PwriteOreGolden")
+        val differences = harness.checkGolden(golden, results)
+        assertTrue(differences.isEmpty(), differences.joinToString("\n"))
+    }
+
+    @Test
+    fun doesNotDependOnChunkOrder() {
+        val harness = OreSimulationHarness(SEED)
+        val chunks = OreSimulationHarness.square(RADIUS)
+        val forward = harness.simulate(chunks)
+        val backward = harness.simulate(chunks.reversed())
+        for ((chunk, ores) in forward) {
+            val other = backward.getValue(chunk)
+            assertEquals(ores.keys, other.keys)
+            for (entry in ores.int2ObjectEntrySet()) {
+                val candidates = other.get(entry.intKey)
+                assertArrayEquals(entry.value.positions, candidates.positions)
+                assertArrayEquals(entry.value.airChecks, candidates.airChecks)
+                assertArrayEquals(entry.value.veins, candidates.veins)
+            }
+        }
+    }
+
+    companion object {
+        /**
+         * The seed of the golden file.
+         */
+        private const val SEED = 12345L
+
+        /**
+         * The radius, in chunks, of the square around the origin that is simulated.
+         */
+        private const val RADIUS = 8
+    }
+}